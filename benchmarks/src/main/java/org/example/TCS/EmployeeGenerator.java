@@ -0,0 +1,57 @@
+package org.example.TCS;
+
+import java.util.*;
+
+// Deterministic synthetic employees for benchmarks.
+// Category cardinalities roughly follow the HR export in src/main/resources/employees.xlsx.
+// Category values are shared String instances, as the Excel loader interns them; only
+// the email and employee ID are unique per row. That is about 190 bytes of heap per
+// employee, so the 10^7 roster is about 1.9 GB live (measured at 10^6 with -Xmx2g).
+final class EmployeeGenerator {
+    private static final String[] FIRST_NAMES = {
+            "John", "Jane", "Mike", "Sarah", "David", "Lisa", "Robert", "Emma", "James", "Olivia",
+            "Berget", "Karrie", "Allin", "Lutero", "Eal", "Maria", "Chen", "Priya", "Ahmed", "Sofia"
+    };
+    private static final String[] LAST_NAMES = {
+            "Doe", "Smith", "Johnson", "Williams", "Brown", "Davis", "Wilson", "Taylor", "Anderson", "Thomas",
+            "Treat", "Westmorland", "Barefoot", "Neilands", "Kirwin", "Garcia", "Wang", "Patel", "Khan", "Rossi"
+    };
+    private static final String[] GENDERS = {
+            "Male", "Female", "Bigender", "Genderfluid", "Non-binary", "Agender", "Polygender", "Genderqueer"
+    };
+    private static final String[] DOMAINS = {"company.com", "marriott.com", "google.com.br", "gnu.org", "tmall.com"};
+    private static final String[] JOB_TITLES = labels("Job Title ", 180);
+    private static final String[] UNIVERSITIES = labels("University ", 900);
+
+    private EmployeeGenerator() {
+    }
+
+    static List<Employee> generate(int count, long seed) {
+        Random random = new Random(seed);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new Employee(
+                    i,
+                    first,
+                    last,
+                    first.toLowerCase() + "." + last.toLowerCase() + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)],
+                    // Skewed like the real data: mostly Male/Female
+                    GENDERS[random.nextInt(10) < 9 ? random.nextInt(2) : random.nextInt(GENDERS.length)],
+                    JOB_TITLES[random.nextInt(JOB_TITLES.length)],
+                    UNIVERSITIES[random.nextInt(UNIVERSITIES.length)],
+                    "EMP" + i,
+                    40_000 + random.nextInt(960_000)));
+        }
+        return employees;
+    }
+
+    private static String[] labels(String prefix, int count) {
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = prefix + i;
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+// One benchmark per numbered section of EmployeeStreamOperations.main,
+// run over generated rosters of 10^3 to 10^7 employees, sequentially and in parallel.
+// The 10^7 roster is about 1.9 GB live (see EmployeeGenerator), which leaves roughly
+// 2 GB of the 4 GB heap for what a benchmark builds, such as 10^7 names in mapping.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class EmployeeStreamBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = EmployeeGenerator.generate(size, 42L);
+    }
+
+    private Stream<Employee> employees() {
+        return parallel ? employees.parallelStream() : employees.stream();
+    }
+
+    // 1. Filtering
+    @Benchmark
+    public List<Employee> filtering() {
+        return employees()
+                .filter(emp -> "Male".equals(emp.getGender()))
+                .collect(Collectors.toList());
+    }
+
+    // 2. Mapping
+    @Benchmark
+    public List<String> mapping() {
+        return employees()
+                .map(Employee::getFullName)
+                .collect(Collectors.toList());
+    }
+
+    // 3. Sorting
+    @Benchmark
+    public List<Employee> sortingBySalary() {
+        return employees()
+                .sorted(Comparator.comparing(Employee::getSalary))
+                .collect(Collectors.toList());
+    }
+
+    // 4. Grouping
+    @Benchmark
+    public Map<String, List<Employee>> groupingByJobTitle() {
+        return employees()
+                .collect(Collectors.groupingBy(Employee::getJobTitle));
+    }
+
+    @Benchmark
+    public Map<String, List<Employee>> groupingByUniversity() {
+        return employees()
+                .collect(Collectors.groupingBy(Employee::getUniversity));
+    }
+
+    // 5. Aggregation: the separate passes of section 5
+    @Benchmark
+    public void aggregation(Blackhole blackhole) {
+        blackhole.consume(employees().mapToDouble(Employee::getSalary).sum());
+        blackhole.consume(employees().mapToDouble(Employee::getSalary).average());
+        blackhole.consume(employees().mapToDouble(Employee::getSalary).max());
+        blackhole.consume(employees().mapToDouble(Employee::getSalary).min());
+        blackhole.consume(employees().count());
+    }
+
+    // 6. Statistics
+    @Benchmark
+    public DoubleSummaryStatistics statistics() {
+        return employees()
+                .mapToDouble(Employee::getSalary)
+                .summaryStatistics();
+    }
+
+    // 7. Partitioning
+    @Benchmark
+    public Map<Boolean, List<Employee>> partitioning() {
+        return employees()
+                .collect(Collectors.partitioningBy(emp -> emp.getSalary() > 75000));
+    }
+
+    // 8. Finding
+    @Benchmark
+    public Optional<Employee> findFirst() {
+        return employees()
+                .filter(emp -> emp.getSalary() > 990000)
+                .findFirst();
+    }
+
+    // 9. Matching
+    @Benchmark
+    public boolean noneMatch() {
+        return employees()
+                .noneMatch(emp -> emp.getSalary() > 1_000_000);
+    }
+
+    // 10. Complex: average by gender, count by job title, top 3 highest paid
+    @Benchmark
+    public Map<String, Double> averageSalaryByGender() {
+        return employees()
+                .collect(Collectors.groupingBy(Employee::getGender,
+                        Collectors.averagingDouble(Employee::getSalary)));
+    }
+
+    @Benchmark
+    public Map<String, Long> countByJobTitle() {
+        return employees()
+                .collect(Collectors.groupingBy(Employee::getJobTitle, Collectors.counting()));
+    }
+
+    @Benchmark
+    public List<Employee> top3HighestPaid() {
+        return employees()
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(3)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> top3HighestPaidBoundedHeap() {
+        return employees()
+                .collect(TopN.topN(3, Employee::getSalary));
+    }
+
+    // 11. Distinct
+    @Benchmark
+    public List<String> distinctUniversities() {
+        return employees()
+                .map(Employee::getUniversity)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Runs employee stream pipelines on a dedicated ForkJoinPool instead of the common pool.
+//
+//   try (AnalyticsExecutor executor = new AnalyticsExecutor(4, 10_000)) {
+//       double total = executor.run(employees, s -> s.mapToDouble(Employee::getSalary).sum());
+//   }
+//
+// A parallel stream started from inside a ForkJoinPool task runs its subtasks in that
+// pool, so heavy reports no longer compete with other users of the common pool. Inputs
+// whose estimated cost (size x cost per element) is below the threshold run sequentially
+// on the calling thread, where the parallel setup would cost more than it saves.
+class AnalyticsExecutor implements AutoCloseable {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+    private static final LatencyHistogram RUN_TIMER = Metrics.global().timer("analytics.run");
+    private static final LongAdder SEQUENTIAL_RUNS = Metrics.global().counter("analytics.run.sequential");
+    private static final LongAdder PARALLEL_RUNS = Metrics.global().counter("analytics.run.parallel");
+
+    private final ForkJoinPool pool;
+    private final long sequentialThreshold;
+
+    // Pool sized to the available processors, parallel from 10,000 elements
+    public AnalyticsExecutor() {
+        this(Runtime.getRuntime().availableProcessors(), 10_000);
+    }
+
+    public AnalyticsExecutor(int parallelism, long sequentialThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        int poolNumber = POOL_NUMBER.incrementAndGet();
+        this.pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("employee-analytics-" + poolNumber + "-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    // Run a pipeline over the employees, assuming unit cost per element
+    public <R> R run(List<Employee> employees, Function<Stream<Employee>, R> pipeline) {
+        return run(employees, 1, pipeline);
+    }
+
+    // Run a pipeline whose per-element work is costPerElement times a simple scan
+    public <R> R run(List<Employee> employees, double costPerElement,
+                     Function<Stream<Employee>, R> pipeline) {
+        long start = System.nanoTime();
+        try {
+            if (!worthParallel(employees.size(), costPerElement)) {
+                SEQUENTIAL_RUNS.increment();
+                return pipeline.apply(employees.stream());
+            }
+            PARALLEL_RUNS.increment();
+            Spliterator<Employee> spliterator = spliterator(employees);
+            return pool.submit(() -> pipeline.apply(StreamSupport.stream(spliterator, true))).join();
+        } finally {
+            RUN_TIMER.recordSince(start);
+        }
+    }
+
+    // Run a pipeline over the row indexes of a columnar table
+    public <R> R runRows(EmployeeTable table, Function<IntStream, R> pipeline) {
+        return runRows(table, 1, pipeline);
+    }
+
+    public <R> R runRows(EmployeeTable table, double costPerElement, Function<IntStream, R> pipeline) {
+        long start = System.nanoTime();
+        int size = table.size();
+        try {
+            if (!worthParallel(size, costPerElement)) {
+                SEQUENTIAL_RUNS.increment();
+                return pipeline.apply(IntStream.range(0, size));
+            }
+            PARALLEL_RUNS.increment();
+            return pool.submit(() -> pipeline.apply(IntStream.range(0, size).parallel())).join();
+        } finally {
+            RUN_TIMER.recordSince(start);
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private boolean worthParallel(long size, double costPerElement) {
+        return pool.getParallelism() > 1 && size * costPerElement >= sequentialThreshold;
+    }
+
+    // Random-access lists (ArrayList, Arrays.asList) split evenly by index; anything
+    // else is copied to an array once so the split is still exact
+    static Spliterator<Employee> spliterator(List<Employee> employees) {
+        if (employees instanceof RandomAccess) {
+            return new ListSpliterator(employees, 0, employees.size());
+        }
+        return Spliterators.spliterator(employees.toArray(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    // SIZED | SUBSIZED spliterator over an index range of a random-access list.
+    // The list must not be structurally modified while the pipeline runs.
+    private static final class ListSpliterator implements Spliterator<Employee> {
+        private final List<Employee> list;
+        private int index;
+        private final int fence;
+
+        ListSpliterator(List<Employee> list, int origin, int fence) {
+            this.list = list;
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Employee> action) {
+            if (index < fence) {
+                action.accept(list.get(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Employee> action) {
+            for (int i = index; i < fence; i++) {
+                action.accept(list.get(i));
+            }
+            index = fence;
+        }
+
+        @Override
+        public Spliterator<Employee> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator<Employee> prefix = new ListSpliterator(list, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Symbol table for a low-cardinality text column (gender, job title, university).
+// Each distinct value gets a small int code, assigned in order of first appearance.
+// Lookups are lock-free; only adding a new value takes a lock, so one dictionary can
+// be shared by several loaders. A dictionary holds at most maxSize values.
+class CategoryDictionary {
+    private final int maxSize;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] symbols = new String[16];
+    private volatile int size;
+    private volatile int nullCode = -1;  // ConcurrentHashMap has no null keys
+
+    public CategoryDictionary() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public CategoryDictionary(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    // Code for a value, adding it to the dictionary if it is new.
+    // Throws IllegalStateException if a new value does not fit.
+    public int encode(String value) {
+        int code = codeOf(value);
+        if (code < 0) {
+            code = add(value);
+            if (code < 0) {
+                throw new IllegalStateException("Category dictionary is full (" + maxSize + " values)");
+            }
+        }
+        return code;
+    }
+
+    // Code for a value, or -1 if it has never been seen
+    public int codeOf(String value) {
+        if (value == null) {
+            return nullCode;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : -1;
+    }
+
+    public String decode(int code) {
+        if (code < 0 || code >= size) {
+            throw new IndexOutOfBoundsException("Unknown category code: " + code);
+        }
+        return symbols[code];
+    }
+
+    // The dictionary's own instance of a value, so equal values share one String.
+    // A new value that no longer fits is returned as it is.
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int code = codeOf(value);
+        if (code < 0) {
+            code = add(value);
+        }
+        return code < 0 ? value : decode(code);
+    }
+
+    // Number of distinct values
+    public int size() {
+        return size;
+    }
+
+    public List<String> symbols() {
+        int count = size;
+        return Collections.unmodifiableList(Arrays.asList(symbols).subList(0, count));
+    }
+
+    // Code of the value, adding it if there is room; -1 if the dictionary is full
+    private synchronized int add(String value) {
+        int existing = codeOf(value);
+        if (existing >= 0) {
+            return existing;
+        }
+        if (size == maxSize) {
+            return -1;
+        }
+        String[] table = symbols;
+        if (size == table.length) {
+            table = Arrays.copyOf(table, size * 2);
+        }
+        int code = size;
+        table[code] = value;
+        symbols = table;
+        // Publish the symbol before the code becomes visible to lock-free readers
+        size = code + 1;
+        if (value == null) {
+            nullCode = code;
+        } else {
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryDictionary" + symbols();
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.TCS;
+
+// One mutation published on a ChangeStream.
+// ADD and REMOVE events carry only the entity; UPDATE events also name the changed
+// property and its old and new values.
+public final class ChangeEvent<T> {
+
+    public enum Type { ADD, UPDATE, REMOVE }
+
+    private final long sequence;
+    private final Type type;
+    private final T entity;
+    private final String property;
+    private final Object oldValue;
+    private final Object newValue;
+
+    ChangeEvent(long sequence, Type type, T entity, String property, Object oldValue, Object newValue) {
+        this.sequence = sequence;
+        this.type = type;
+        this.entity = entity;
+        this.property = property;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    // Position in the stream, increasing by one per event
+    public long getSequence() { return sequence; }
+    public Type getType() { return type; }
+    public T getEntity() { return entity; }
+    public String getProperty() { return property; }
+    public Object getOldValue() { return oldValue; }
+    public Object getNewValue() { return newValue; }
+
+    @Override
+    public String toString() {
+        if (type == Type.UPDATE) {
+            return "#" + sequence + " UPDATE " + property + " " + oldValue + " -> " + newValue + " on " + entity;
+        }
+        return "#" + sequence + " " + type + " " + entity;
+    }
+}
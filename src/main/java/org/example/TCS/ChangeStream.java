@@ -0,0 +1,151 @@
+package org.example.TCS;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded, lock-free stream of change events with any number of subscribers.
+//
+//   ChangeStream.Subscription<Employee> changes = roster.changes().subscribe();
+//   ...
+//   changes.drain(new ChangeStream.Handler<Employee>() {
+//       public void onChange(ChangeEvent<Employee> event) { ...update a derived view... }
+//       public void onOverrun(long lost) { ...rebuild the view from a full scan... }
+//   });
+//
+// Producers claim a sequence number with one atomic increment and publish the event
+// into slot (sequence mod capacity) with a release CAS that only replaces an older
+// event; they never block or wait for subscribers. A producer stalled so long that a
+// newer event already took its slot drops its own, which subscribers see as an
+// overrun. Each subscription keeps its own cursor and reads at its own pace.
+// A subscriber that falls more than capacity events behind has lost the oldest ones:
+// it is told how many through onOverrun and continues from the oldest event still in
+// the ring. Nothing is published while there are no open subscriptions.
+public final class ChangeStream<T> {
+
+    // Receives events in sequence order on the draining thread
+    public interface Handler<T> {
+        void onChange(ChangeEvent<T> event);
+
+        // Events were overwritten before this subscriber read them; views built from
+        // the stream are stale and should be rebuilt
+        default void onOverrun(long lostEvents) {
+        }
+    }
+
+    private final int mask;
+    private final AtomicReferenceArray<ChangeEvent<T>> ring;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    // Capacity is rounded up to a power of two
+    public ChangeStream(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.ring = new AtomicReferenceArray<>(size);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public boolean hasSubscribers() {
+        return subscribers.get() > 0;
+    }
+
+    public void added(T entity) {
+        publish(ChangeEvent.Type.ADD, entity, null, null, null);
+    }
+
+    public void removed(T entity) {
+        publish(ChangeEvent.Type.REMOVE, entity, null, null, null);
+    }
+
+    public void updated(T entity, String property, Object oldValue, Object newValue) {
+        publish(ChangeEvent.Type.UPDATE, entity, property, oldValue, newValue);
+    }
+
+    private void publish(ChangeEvent.Type type, T entity, String property, Object oldValue, Object newValue) {
+        if (subscribers.get() == 0) {
+            return;
+        }
+        long sequence = nextSequence.getAndIncrement();
+        int slot = (int) sequence & mask;
+        ChangeEvent<T> event = new ChangeEvent<>(sequence, type, entity, property, oldValue, newValue);
+        ChangeEvent<T> current = ring.getAcquire(slot);
+        while (current == null || current.getSequence() < sequence) {
+            ChangeEvent<T> witness = ring.compareAndExchangeRelease(slot, current, event);
+            if (witness == current) {
+                return;
+            }
+            current = witness;
+        }
+        // Lapped while stalled: the slot holds a newer event, so this one is lost
+    }
+
+    // Subscribe to events published from now on
+    public Subscription<T> subscribe() {
+        subscribers.incrementAndGet();
+        return new Subscription<>(this, nextSequence.get());
+    }
+
+    // One reader's position in the stream. A subscription is meant to be drained by
+    // one thread at a time; close it to let producers stop publishing when it was the last.
+    public static final class Subscription<T> implements AutoCloseable {
+        private final ChangeStream<T> stream;
+        private long cursor;
+        private boolean closed;
+
+        private Subscription(ChangeStream<T> stream, long cursor) {
+            this.stream = stream;
+            this.cursor = cursor;
+        }
+
+        // Deliver every event published so far; returns the number delivered
+        public int drain(Handler<T> handler) {
+            return poll(handler, Integer.MAX_VALUE);
+        }
+
+        // Deliver at most max events; returns the number delivered
+        public int poll(Handler<T> handler, int max) {
+            Objects.requireNonNull(handler, "handler");
+            int delivered = 0;
+            while (delivered < max && !closed) {
+                ChangeEvent<T> event = stream.ring.getAcquire((int) cursor & stream.mask);
+                if (event == null || event.getSequence() < cursor) {
+                    // Claimed but not yet published (or nothing newer); stop here
+                    break;
+                }
+                if (event.getSequence() > cursor) {
+                    // Lapped by producers: skip to the oldest event the ring still holds
+                    long oldest = Math.max(cursor, stream.nextSequence.get() - stream.capacity());
+                    long lost = Math.max(1, oldest - cursor);
+                    cursor += lost;
+                    handler.onOverrun(lost);
+                    continue;
+                }
+                cursor++;
+                delivered++;
+                handler.onChange(event);
+            }
+            return delivered;
+        }
+
+        // Events published but not yet delivered to this subscriber
+        public long lag() {
+            return Math.max(0, stream.nextSequence.get() - cursor);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                stream.subscribers.decrementAndGet();
+            }
+        }
+    }
+}
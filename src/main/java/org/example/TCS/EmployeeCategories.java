@@ -0,0 +1,118 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+// Dictionaries for the categorical Employee fields: gender, job title and university.
+// Loaders intern these fields through a shared instance, so each distinct value is
+// one String object with a cached hash and a small int code. EmployeeTable stores the
+// codes as int columns and aggregates over them directly; countBy and distinct here
+// are the fallback for plain Employee collections and cost one hash lookup per row.
+//
+// Dictionaries never forget a value, so the shared ones grow with every distinct value
+// loaded in the process. Each holds at most MAX_VALUES; past that, intern leaves new
+// values as they are and EmployeeTable cannot encode them.
+class EmployeeCategories {
+    static final int MAX_VALUES = 1 << 16;
+    private static final EmployeeCategories SHARED = new EmployeeCategories();
+
+    private final CategoryDictionary genders = new CategoryDictionary(MAX_VALUES);
+    private final CategoryDictionary jobTitles = new CategoryDictionary(MAX_VALUES);
+    private final CategoryDictionary universities = new CategoryDictionary(MAX_VALUES);
+
+    // Process-wide dictionaries used by the Excel loader and EmployeeTable by default
+    public static EmployeeCategories shared() {
+        return SHARED;
+    }
+
+    public CategoryDictionary dictionary(EmployeeTable.Category category) {
+        switch (category) {
+            case GENDER: return genders;
+            case JOB_TITLE: return jobTitles;
+            case UNIVERSITY: return universities;
+            default: throw new IllegalArgumentException("Unknown category: " + category);
+        }
+    }
+
+    // Field value of an employee for a category
+    public static String valueOf(EmployeeTable.Category category, Employee employee) {
+        switch (category) {
+            case GENDER: return employee.getGender();
+            case JOB_TITLE: return employee.getJobTitle();
+            case UNIVERSITY: return employee.getUniversity();
+            default: throw new IllegalArgumentException("Unknown category: " + category);
+        }
+    }
+
+    public int encode(EmployeeTable.Category category, Employee employee) {
+        return dictionary(category).encode(valueOf(category, employee));
+    }
+
+    // Replace the categorical fields with the dictionaries' shared instances
+    public Employee intern(Employee employee) {
+        employee.setGender(genders.intern(employee.getGender()));
+        employee.setJobTitle(jobTitles.intern(employee.getJobTitle()));
+        employee.setUniversity(universities.intern(employee.getUniversity()));
+        return employee;
+    }
+
+    // Number of employees per category value, in code order. Each row's code is looked
+    // up by its String (use EmployeeTable.countBy to count over stored codes). Values
+    // the dictionary has never seen are counted in a side map after the known ones, so
+    // reads never grow the shared dictionaries.
+    public Map<String, Long> countBy(Collection<Employee> employees, EmployeeTable.Category category) {
+        CategoryDictionary dictionary = dictionary(category);
+        long[] counts = new long[Math.max(dictionary.size(), 16)];
+        Map<String, Long> unknown = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            String value = valueOf(category, employee);
+            int code = dictionary.codeOf(value);
+            if (code < 0) {
+                unknown.merge(value, 1L, Long::sum);
+                continue;
+            }
+            if (code >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(code + 1, counts.length * 2));
+            }
+            counts[code]++;
+        }
+        Map<String, Long> result = toCountMap(dictionary, counts);
+        result.putAll(unknown);
+        return result;
+    }
+
+    // Distinct category values in order of first appearance
+    public List<String> distinct(Collection<Employee> employees, EmployeeTable.Category category) {
+        return distinct(employees.stream(), category);
+    }
+
+    public List<String> distinct(Stream<Employee> employees, EmployeeTable.Category category) {
+        CategoryDictionary dictionary = dictionary(category);
+        BitSet seen = new BitSet(dictionary.size());
+        Set<String> seenUnknown = new HashSet<>();
+        List<String> values = new ArrayList<>();
+        employees.forEachOrdered(employee -> {
+            String value = valueOf(category, employee);
+            int code = dictionary.codeOf(value);
+            if (code < 0) {
+                if (seenUnknown.add(value)) {
+                    values.add(value);
+                }
+            } else if (!seen.get(code)) {
+                seen.set(code);
+                values.add(dictionary.decode(code));
+            }
+        });
+        return values;
+    }
+
+    static Map<String, Long> toCountMap(CategoryDictionary dictionary, long[] counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(dictionary.decode(code), counts[code]);
+            }
+        }
+        return result;
+    }
+}
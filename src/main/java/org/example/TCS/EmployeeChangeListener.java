@@ -0,0 +1,16 @@
+package org.example.TCS;
+
+// Observer of Employee setter calls, registered with Employee.addChangeListener.
+// Called on the thread that invoked the setter, after the field has changed, and only
+// when the new value differs from the old one. Listeners are held weakly, so whoever
+// registers one must keep it reachable for as long as it should be notified.
+interface EmployeeChangeListener {
+
+    // Any field changed; property is the JavaBean property name ("salary", "jobTitle", ...)
+    void propertyChanged(Employee employee, String property, Object oldValue, Object newValue);
+
+    // Salary changed; the default boxes and forwards to propertyChanged
+    default void salaryChanged(Employee employee, double oldSalary, double newSalary) {
+        propertyChanged(employee, "salary", oldSalary, newSalary);
+    }
+}
@@ -0,0 +1,304 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+// Ad-hoc employee search compiled into a single predicate.
+//
+//   List<Employee> result = EmployeeQuery.where()
+//           .in(EmployeeQuery.Field.JOB_TITLE, "Software Engineer", "Data Scientist")
+//           .startsWith(EmployeeQuery.Field.EMAIL, "j")
+//           .between(EmployeeQuery.Field.SALARY, 70000, 90000)
+//           .filter(employees);
+//
+// compile() folds the criteria before any element is tested: ranges on the same field
+// are intersected, contradictions collapse to a constant false, one-value IN lists
+// become equality tests and only the criteria actually given are evaluated. The
+// remaining tests are ordered so that cheap, selective ones run first; selectivity
+// comes from fixed estimates, or from a sample of the data with compile(sample).
+class EmployeeQuery {
+
+    public enum Field {
+        ID(Employee::getId),
+        FIRST_NAME(Employee::getFirstName),
+        LAST_NAME(Employee::getLastName),
+        EMAIL(Employee::getEmail),
+        GENDER(Employee::getGender),
+        JOB_TITLE(Employee::getJobTitle),
+        UNIVERSITY(Employee::getUniversity),
+        EMP_ID(Employee::getEmpId),
+        SALARY(Employee::getSalary);
+
+        private final Function<Employee, String> text;
+        private final ToDoubleFunction<Employee> number;
+
+        Field(Function<Employee, String> text) {
+            this.text = text;
+            this.number = null;
+        }
+
+        Field(ToDoubleFunction<Employee> number) {
+            this.text = null;
+            this.number = number;
+        }
+
+        public boolean isNumeric() {
+            return number != null;
+        }
+    }
+
+    private static final int SAMPLE_SIZE = 1024;
+    private static final LatencyHistogram FILTER_TIMER = Metrics.global().timer("employees.query.filter");
+    private static final LongAdder ROWS_IN = Metrics.global().counter("employees.query.filter.in");
+    private static final LongAdder ROWS_OUT = Metrics.global().counter("employees.query.filter.out");
+
+    // Text criteria per field: allowed values (null = any) and required prefixes
+    private final Map<Field, Set<String>> allowedValues = new EnumMap<>(Field.class);
+    private final Map<Field, List<String>> prefixes = new EnumMap<>(Field.class);
+    // Numeric criteria per field, as a closed interval
+    private final Map<Field, double[]> ranges = new EnumMap<>(Field.class);
+
+    public static EmployeeQuery where() {
+        return new EmployeeQuery();
+    }
+
+    public EmployeeQuery eq(Field field, String value) {
+        return in(field, Collections.singleton(value));
+    }
+
+    public EmployeeQuery in(Field field, String... values) {
+        return in(field, Arrays.asList(values));
+    }
+
+    // Field must be one of the values; repeated calls on a field intersect
+    public EmployeeQuery in(Field field, Collection<String> values) {
+        requireText(field);
+        Set<String> set = new HashSet<>(values);
+        allowedValues.merge(field, set, (a, b) -> {
+            a.retainAll(b);
+            return a;
+        });
+        return this;
+    }
+
+    public EmployeeQuery startsWith(Field field, String prefix) {
+        requireText(field);
+        prefixes.computeIfAbsent(field, f -> new ArrayList<>()).add(Objects.requireNonNull(prefix, "prefix"));
+        return this;
+    }
+
+    public EmployeeQuery eq(Field field, double value) {
+        return between(field, value, value);
+    }
+
+    public EmployeeQuery atLeast(Field field, double min) {
+        return between(field, min, Double.POSITIVE_INFINITY);
+    }
+
+    public EmployeeQuery atMost(Field field, double max) {
+        return between(field, Double.NEGATIVE_INFINITY, max);
+    }
+
+    // Inclusive range; repeated calls on a field intersect
+    public EmployeeQuery between(Field field, double min, double max) {
+        if (!field.isNumeric()) {
+            throw new IllegalArgumentException("Range criteria need a numeric field: " + field);
+        }
+        ranges.merge(field, new double[]{min, max}, (a, b) -> new double[]{
+                Math.max(a[0], b[0]), Math.min(a[1], b[1])});
+        return this;
+    }
+
+    public List<Employee> filter(Collection<Employee> employees) {
+        long start = System.nanoTime();
+        Predicate<Employee> predicate = compile(employees);
+        List<Employee> result = employees.stream().filter(predicate).collect(Collectors.toList());
+        ROWS_IN.add(employees.size());
+        ROWS_OUT.add(result.size());
+        FILTER_TIMER.recordSince(start);
+        return result;
+    }
+
+    // Compile with fixed selectivity estimates
+    public Predicate<Employee> compile() {
+        return compile(Collections.emptyList());
+    }
+
+    // Compile with selectivity measured on (up to SAMPLE_SIZE evenly spread) elements
+    public Predicate<Employee> compile(Collection<Employee> sample) {
+        List<Test> tests = new ArrayList<>();
+
+        for (Map.Entry<Field, double[]> entry : ranges.entrySet()) {
+            Test test = rangeTest(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            if (test == null) {
+                return employee -> false;
+            }
+            if (test != ALWAYS) {
+                tests.add(test);
+            }
+        }
+        for (Map.Entry<Field, Set<String>> entry : allowedValues.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                return employee -> false;
+            }
+            tests.add(inTest(entry.getKey(), entry.getValue()));
+        }
+        for (Map.Entry<Field, List<String>> entry : prefixes.entrySet()) {
+            for (String prefix : entry.getValue()) {
+                tests.add(prefixTest(entry.getKey(), prefix));
+            }
+        }
+
+        if (tests.isEmpty()) {
+            return employee -> true;
+        }
+        estimateSelectivity(tests, sample);
+        // Classic ordering for conjunctions: ascending cost / (1 - selectivity)
+        tests.sort(Comparator.comparingDouble(Test::rank));
+        return combine(tests);
+    }
+
+    // Test plus its cost and estimated pass rate
+    private static final class Test {
+        final Predicate<Employee> predicate;
+        final double cost;
+        double selectivity;
+
+        Test(Predicate<Employee> predicate, double cost, double selectivity) {
+            this.predicate = predicate;
+            this.cost = cost;
+            this.selectivity = selectivity;
+        }
+
+        double rank() {
+            return selectivity >= 1 ? Double.MAX_VALUE : cost / (1 - selectivity);
+        }
+    }
+
+    private static final Test ALWAYS = new Test(employee -> true, 0, 1);
+
+    // null when the range is empty, ALWAYS when it is unbounded
+    private static Test rangeTest(Field field, double min, double max) {
+        if (min > max || Double.isNaN(min) || Double.isNaN(max)) {
+            return null;
+        }
+        boolean noMin = min == Double.NEGATIVE_INFINITY;
+        boolean noMax = max == Double.POSITIVE_INFINITY;
+        ToDoubleFunction<Employee> value = field.number;
+        if (noMin && noMax) {
+            return ALWAYS;
+        }
+        if (noMax) {
+            return new Test(employee -> value.applyAsDouble(employee) >= min, 1, 0.5);
+        }
+        if (noMin) {
+            return new Test(employee -> value.applyAsDouble(employee) <= max, 1, 0.5);
+        }
+        if (min == max) {
+            return new Test(employee -> value.applyAsDouble(employee) == min, 1, 0.05);
+        }
+        return new Test(employee -> {
+            double v = value.applyAsDouble(employee);
+            return v >= min && v <= max;
+        }, 1.5, 0.3);
+    }
+
+    private static Test inTest(Field field, Set<String> values) {
+        Function<Employee, String> text = field.text;
+        if (values.size() == 1) {
+            String only = values.iterator().next();
+            if (only == null) {
+                return new Test(employee -> text.apply(employee) == null, 1, 0.05);
+            }
+            return new Test(employee -> only.equals(text.apply(employee)), 2, 0.1);
+        }
+        if (values.size() <= 4 && !values.contains(null)) {
+            String[] small = values.toArray(new String[0]);
+            return new Test(employee -> {
+                String v = text.apply(employee);
+                for (String candidate : small) {
+                    if (candidate.equals(v)) {
+                        return true;
+                    }
+                }
+                return false;
+            }, 2 + small.length, Math.min(0.9, 0.1 * small.length));
+        }
+        Set<String> set = new HashSet<>(values);
+        return new Test(employee -> set.contains(text.apply(employee)), 4,
+                Math.min(0.9, 0.1 * set.size()));
+    }
+
+    private static Test prefixTest(Field field, String prefix) {
+        Function<Employee, String> text = field.text;
+        return new Test(employee -> {
+            String v = text.apply(employee);
+            return v != null && v.startsWith(prefix);
+        }, 2, 0.2);
+    }
+
+    private static void estimateSelectivity(List<Test> tests, Collection<Employee> sample) {
+        if (sample.isEmpty() || tests.size() < 2) {
+            return;
+        }
+        List<Employee> rows = sample instanceof List && sample instanceof RandomAccess
+                ? (List<Employee>) sample : new ArrayList<>(sample);
+        int step = Math.max(1, rows.size() / SAMPLE_SIZE);
+        int seen = 0;
+        long[] passed = new long[tests.size()];
+        for (int i = 0; i < rows.size(); i += step) {
+            Employee employee = rows.get(i);
+            seen++;
+            for (int t = 0; t < tests.size(); t++) {
+                if (tests.get(t).predicate.test(employee)) {
+                    passed[t]++;
+                }
+            }
+        }
+        for (int t = 0; t < tests.size(); t++) {
+            // Laplace smoothing keeps a test that never passed in the sample from ranking as free
+            tests.get(t).selectivity = (passed[t] + 1.0) / (seen + 2.0);
+        }
+    }
+
+    // One predicate specialized on the number of tests, without per-element list iteration
+    private static Predicate<Employee> combine(List<Test> tests) {
+        switch (tests.size()) {
+            case 1:
+                return tests.get(0).predicate;
+            case 2: {
+                Predicate<Employee> a = tests.get(0).predicate;
+                Predicate<Employee> b = tests.get(1).predicate;
+                return employee -> a.test(employee) && b.test(employee);
+            }
+            case 3: {
+                Predicate<Employee> a = tests.get(0).predicate;
+                Predicate<Employee> b = tests.get(1).predicate;
+                Predicate<Employee> c = tests.get(2).predicate;
+                return employee -> a.test(employee) && b.test(employee) && c.test(employee);
+            }
+            default: {
+                @SuppressWarnings("unchecked")
+                Predicate<Employee>[] all = tests.stream().map(test -> test.predicate).toArray(Predicate[]::new);
+                return employee -> {
+                    for (Predicate<Employee> predicate : all) {
+                        if (!predicate.test(employee)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+        }
+    }
+
+    private static void requireText(Field field) {
+        if (field.isNumeric()) {
+            throw new IllegalArgumentException("Text criteria need a text field: " + field);
+        }
+    }
+}
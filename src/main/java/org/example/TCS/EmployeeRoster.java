@@ -0,0 +1,114 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Employee list with a version number that changes on every mutation.
+// The version moves when employees are added or removed, and when any Employee
+// setter changes a field. Setter changes are observed globally rather than per
+// member, so an edit to an employee outside the roster also moves the version;
+// that can only cause a needless recompute, never a stale read.
+// Close the roster to stop observing setters; a dropped roster stops once collected.
+//
+// Every change is also published on changes(): ADD and REMOVE when the roster itself
+// changes, UPDATE when a setter changes an employee that is in the roster, so
+// consumers can maintain derived views without rescanning.
+class EmployeeRoster implements EmployeeChangeListener, AutoCloseable {
+    private final List<Employee> employees;
+    private final AtomicLong version = new AtomicLong();
+    private final ChangeStream<Employee> changes = new ChangeStream<>(4096);
+    // Members by identity with their multiplicity, to tell which setter calls concern us
+    private final Map<Employee, Integer> members = new IdentityHashMap<>();
+
+    public EmployeeRoster() {
+        this(Collections.emptyList());
+    }
+
+    public EmployeeRoster(Collection<Employee> employees) {
+        this.employees = new ArrayList<>(employees);
+        for (Employee employee : this.employees) {
+            members.merge(employee, 1, Integer::sum);
+        }
+        Employee.addChangeListener(this);
+    }
+
+    public ChangeStream<Employee> changes() {
+        return changes;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    // Read-only view of the current employees
+    public synchronized List<Employee> employees() {
+        return Collections.unmodifiableList(new ArrayList<>(employees));
+    }
+
+    public synchronized int size() {
+        return employees.size();
+    }
+
+    public synchronized void add(Employee employee) {
+        employees.add(employee);
+        members.merge(employee, 1, Integer::sum);
+        version.incrementAndGet();
+        changes.added(employee);
+    }
+
+    public synchronized void addAll(Collection<Employee> added) {
+        employees.addAll(added);
+        for (Employee employee : added) {
+            members.merge(employee, 1, Integer::sum);
+            changes.added(employee);
+        }
+        version.incrementAndGet();
+    }
+
+    public synchronized boolean remove(Employee employee) {
+        // List.remove matches by equals (empId); report the instance actually removed
+        int index = employees.indexOf(employee);
+        if (index < 0) {
+            return false;
+        }
+        Employee removed = employees.remove(index);
+        members.computeIfPresent(removed, (e, count) -> count == 1 ? null : count - 1);
+        version.incrementAndGet();
+        changes.removed(removed);
+        return true;
+    }
+
+    public synchronized void clear() {
+        for (Employee employee : employees) {
+            changes.removed(employee);
+        }
+        employees.clear();
+        members.clear();
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void propertyChanged(Employee employee, String property, Object oldValue, Object newValue) {
+        version.incrementAndGet();
+        if (changes.hasSubscribers() && isMember(employee)) {
+            changes.updated(employee, property, oldValue, newValue);
+        }
+    }
+
+    @Override
+    public void salaryChanged(Employee employee, double oldSalary, double newSalary) {
+        version.incrementAndGet();
+        if (changes.hasSubscribers() && isMember(employee)) {
+            changes.updated(employee, "salary", oldSalary, newSalary);
+        }
+    }
+
+    private synchronized boolean isMember(Employee employee) {
+        return members.containsKey(employee);
+    }
+
+    @Override
+    public void close() {
+        Employee.removeChangeListener(this);
+    }
+}
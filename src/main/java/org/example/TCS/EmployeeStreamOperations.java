@@ -2,8 +2,14 @@ package org.example.TCS;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.math.BigDecimal;
 import org.apache.poi.ss.usermodel.*;
@@ -47,15 +53,87 @@ class Employee {
     public double getSalary() { return salary; }
 
     // Setters
-    public void setId(int id) { this.id = id; }
-    public void setFirstName(String firstName) { this.firstName = firstName; }
-    public void setLastName(String lastName) { this.lastName = lastName; }
-    public void setEmail(String email) { this.email = email; }
-    public void setGender(String gender) { this.gender = gender; }
-    public void setJobTitle(String jobTitle) { this.jobTitle = jobTitle; }
-    public void setUniversity(String university) { this.university = university; }
-    public void setEmpId(String empId) { this.empId = empId; }
-    public void setSalary(double salary) { this.salary = salary; }
+    public void setId(int id) {
+        int old = this.id;
+        this.id = id;
+        if (old != id && !LISTENERS.isEmpty()) firePropertyChanged("id", old, id);
+    }
+    public void setFirstName(String firstName) {
+        String old = this.firstName;
+        this.firstName = firstName;
+        if (!Objects.equals(old, firstName) && !LISTENERS.isEmpty()) firePropertyChanged("firstName", old, firstName);
+    }
+    public void setLastName(String lastName) {
+        String old = this.lastName;
+        this.lastName = lastName;
+        if (!Objects.equals(old, lastName) && !LISTENERS.isEmpty()) firePropertyChanged("lastName", old, lastName);
+    }
+    public void setEmail(String email) {
+        String old = this.email;
+        this.email = email;
+        if (!Objects.equals(old, email) && !LISTENERS.isEmpty()) firePropertyChanged("email", old, email);
+    }
+    public void setGender(String gender) {
+        String old = this.gender;
+        this.gender = gender;
+        if (!Objects.equals(old, gender) && !LISTENERS.isEmpty()) firePropertyChanged("gender", old, gender);
+    }
+    public void setJobTitle(String jobTitle) {
+        String old = this.jobTitle;
+        this.jobTitle = jobTitle;
+        if (!Objects.equals(old, jobTitle) && !LISTENERS.isEmpty()) firePropertyChanged("jobTitle", old, jobTitle);
+    }
+    public void setUniversity(String university) {
+        String old = this.university;
+        this.university = university;
+        if (!Objects.equals(old, university) && !LISTENERS.isEmpty()) firePropertyChanged("university", old, university);
+    }
+    public void setEmpId(String empId) {
+        String old = this.empId;
+        this.empId = empId;
+        if (!Objects.equals(old, empId) && !LISTENERS.isEmpty()) firePropertyChanged("empId", old, empId);
+    }
+    public void setSalary(double salary) {
+        double old = this.salary;
+        this.salary = salary;
+        if (Double.compare(old, salary) != 0 && !LISTENERS.isEmpty()) fireSalaryChanged(old, salary);
+    }
+
+    // Change listeners, shared by all employees so no per-object state is needed.
+    // They are held weakly: a SalaryHistogram or EmployeeRoster dropped without close()
+    // stops being notified once collected instead of staying reachable forever.
+    private static final List<WeakReference<EmployeeChangeListener>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    static void addChangeListener(EmployeeChangeListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        LISTENERS.removeIf(ref -> ref.get() == null);
+        LISTENERS.add(new WeakReference<>(listener));
+    }
+
+    static void removeChangeListener(EmployeeChangeListener listener) {
+        LISTENERS.removeIf(ref -> {
+            EmployeeChangeListener registered = ref.get();
+            return registered == null || registered == listener;
+        });
+    }
+
+    private void firePropertyChanged(String property, Object oldValue, Object newValue) {
+        for (WeakReference<EmployeeChangeListener> ref : LISTENERS) {
+            EmployeeChangeListener listener = ref.get();
+            if (listener != null) {
+                listener.propertyChanged(this, property, oldValue, newValue);
+            }
+        }
+    }
+
+    private void fireSalaryChanged(double oldSalary, double newSalary) {
+        for (WeakReference<EmployeeChangeListener> ref : LISTENERS) {
+            EmployeeChangeListener listener = ref.get();
+            if (listener != null) {
+                listener.salaryChanged(this, oldSalary, newSalary);
+            }
+        }
+    }
 
     // Full name getter
     public String getFullName() {
@@ -78,19 +156,52 @@ class Employee {
 
     @Override
     public int hashCode() {
-        return Objects.hash(empId);
+        // Same value as Objects.hash(empId), without allocating a varargs array per call
+        return 31 + Objects.hashCode(empId);
     }
 }
 
 public class EmployeeStreamOperations {
+    private static final LatencyHistogram READ_TIMER = Metrics.global().timer("employees.readExcel");
+    private static final LongAdder ROWS_READ = Metrics.global().counter("employees.readExcel.rows");
+    private static final LongAdder ROWS_SKIPPED = Metrics.global().counter("employees.readExcel.skipped");
+    // Elements flowing through the analytics pipelines, per stage
+    private static final Consumer<Employee> HIGH_SALARY_IN = Metrics.global().stage("employees.highSalary.in");
+    private static final Consumer<Employee> HIGH_SALARY_OUT = Metrics.global().stage("employees.highSalary.out");
+    private static final Consumer<Employee> PARALLEL_SALARIES = Metrics.global().stage("employees.parallel.salaries");
+    private static final Consumer<Employee> PARALLEL_GENDERS = Metrics.global().stage("employees.parallel.genders");
 
     // Method to read employees from Excel file
     public static List<Employee> readEmployeesFromExcel(String filePath) {
-        List<Employee> employees = new ArrayList<>();
+        long start = System.nanoTime();
+        try (Stream<Employee> rows = streamEmployeesFromExcel(filePath)) {
+            List<Employee> employees = rows.collect(Collectors.toList());
+            ROWS_READ.add(employees.size());
+            return employees;
+        } finally {
+            READ_TIMER.recordSince(start);
+        }
+    }
 
+    // Method to lazily stream employees from Excel file, row by row.
+    // Close the stream (try-with-resources) to release the workbook. Rows that cannot
+    // be parsed are left out and counted in employees.readExcel.skipped.
+    public static Stream<Employee> streamEmployeesFromExcel(String filePath) {
+        return ExcelEmployeeReader.stream(filePath, 0, (rowNumber, cause) -> ROWS_SKIPPED.increment());
+    }
 
+    // Method to read every sheet of several Excel files in parallel, deduplicated by empId
+    public static List<Employee> readEmployeesFromExcel(Collection<String> filePaths) {
+        ExcelBatchIngestion ingestion = new ExcelBatchIngestion();
+        return ingestion.ingest(ExcelBatchIngestion.allSheets(filePaths)).getEmployees();
+    }
 
-        return employees;
+    // Method to write employees to an Excel file, streaming rows (see ExcelReportWriter)
+    public static void writeEmployeesToExcel(Collection<Employee> employees, String filePath) throws IOException {
+        try (ExcelReportWriter writer = new ExcelReportWriter()) {
+            writer.writeEmployees("Employees", employees);
+            writer.save(Paths.get(filePath));
+        }
     }
 
     // Method to create sample data for demonstration
@@ -129,7 +240,9 @@ public class EmployeeStreamOperations {
 
         // Filter employees with salary > 80000
         List<Employee> highSalaryEmployees = employees.stream()
+                .peek(HIGH_SALARY_IN)
                 .filter(emp -> emp.getSalary() > 80000)
+                .peek(HIGH_SALARY_OUT)
                 .collect(Collectors.toList());
         System.out.println("High Salary Employees (>80k): " + highSalaryEmployees.size());
 
@@ -165,12 +278,11 @@ public class EmployeeStreamOperations {
         // 3. SORTING OPERATIONS
         System.out.println("\n3. SORTING OPERATIONS:");
 
-        // Sort by salary (ascending)
-        List<Employee> sortedBySalary = employees.stream()
-                .sorted(Comparator.comparing(Employee::getSalary))
-                .collect(Collectors.toList());
-        System.out.println("Lowest Salary: " + sortedBySalary.get(0).getFullName() +
-                " - $" + sortedBySalary.get(0).getSalary());
+        // Lowest salary (bounded bottom-1 selection, no full sort needed)
+        List<Employee> lowestPaid = employees.stream()
+                .collect(TopN.bottomN(1, Employee::getSalary));
+        System.out.println("Lowest Salary: " + lowestPaid.get(0).getFullName() +
+                " - $" + lowestPaid.get(0).getSalary());
 
         // Sort by name (descending)
         List<Employee> sortedByNameDesc = employees.stream()
@@ -204,44 +316,41 @@ public class EmployeeStreamOperations {
         groupedByUniversity.forEach((university, empList) ->
                 System.out.println("  " + university + ": " + empList.size() + " employees"));
 
+        // Sections 5, 6 and 10 are served by one fused pass over the employees
+        StreamReport.Result report = StreamReport.<Employee>builder()
+                .statistics("salary", Employee::getSalary)
+                .averageBy("avgSalaryByGender", Employee::getGender, Employee::getSalary)
+                .countBy("countByJobTitle", Employee::getJobTitle)
+                .collect("top3HighestPaid", TopN.topN(3, Employee::getSalary))
+                .build()
+                .run(employees.stream());
+
         // 5. AGGREGATION OPERATIONS
         System.out.println("\n5. AGGREGATION OPERATIONS:");
 
+        DoubleSummaryStatistics salaryStats = report.statistics("salary");
+        boolean hasEmployees = salaryStats.getCount() > 0;
+
         // Total salary
-        double totalSalary = employees.stream()
-                .mapToDouble(Employee::getSalary)
-                .sum();
+        double totalSalary = salaryStats.getSum();
         System.out.println("Total Salary: $" + totalSalary);
 
         // Average salary
-        OptionalDouble averageSalary = employees.stream()
-                .mapToDouble(Employee::getSalary)
-                .average();
-        System.out.println("Average Salary: $" + (averageSalary.isPresent()
-                ? averageSalary.getAsDouble() : 0));
+        System.out.println("Average Salary: $" + (hasEmployees ? salaryStats.getAverage() : 0));
 
         // Maximum salary
-        OptionalDouble maxSalary = employees.stream()
-                .mapToDouble(Employee::getSalary)
-                .max();
-        System.out.println("Maximum Salary: $" + (maxSalary.isPresent() ? maxSalary.getAsDouble() : 0));
+        System.out.println("Maximum Salary: $" + (hasEmployees ? salaryStats.getMax() : 0));
 
         // Minimum salary
-        OptionalDouble minSalary = employees.stream()
-                .mapToDouble(Employee::getSalary)
-                .min();
-        System.out.println("Minimum Salary: $" + (minSalary.isPresent() ? minSalary.getAsDouble() : 0));
+        System.out.println("Minimum Salary: $" + (hasEmployees ? salaryStats.getMin() : 0));
 
         // Count of employees
-        long employeeCount = employees.stream().count();
+        long employeeCount = salaryStats.getCount();
         System.out.println("Total Employees: " + employeeCount);
 
         // 6. STATISTICAL OPERATIONS
         System.out.println("\n6. STATISTICAL OPERATIONS:");
 
-        DoubleSummaryStatistics salaryStats = employees.stream()
-                .mapToDouble(Employee::getSalary)
-                .summaryStatistics();
         System.out.println("Salary Statistics:");
         System.out.println("  Count: " + salaryStats.getCount());
         System.out.println("  Sum: $" + salaryStats.getSum());
@@ -297,25 +406,19 @@ public class EmployeeStreamOperations {
         System.out.println("\n10. COMPLEX OPERATIONS:");
 
         // Average salary by gender
-        Map<String, Double> avgSalaryByGender = employees.stream()
-                .collect(Collectors.groupingBy(Employee::getGender,
-                        Collectors.averagingDouble(Employee::getSalary)));
+        Map<String, Double> avgSalaryByGender = report.averages("avgSalaryByGender");
         System.out.println("Average Salary by Gender:");
         avgSalaryByGender.forEach((gender, avgSal) ->
                 System.out.println("  " + gender + ": $" + String.format("%.2f", avgSal)));
 
         // Count by job title
-        Map<String, Long> countByJobTitle = employees.stream()
-                .collect(Collectors.groupingBy(Employee::getJobTitle, Collectors.counting()));
+        Map<String, Long> countByJobTitle = report.counts("countByJobTitle");
         System.out.println("Count by Job Title:");
         countByJobTitle.forEach((jobTitle, count) ->
                 System.out.println("  " + jobTitle + ": " + count));
 
         // Top 3 highest paid employees
-        List<Employee> top3HighestPaid = employees.stream()
-                .sorted(Comparator.comparing(Employee::getSalary).reversed())
-                .limit(3)
-                .collect(Collectors.toList());
+        List<Employee> top3HighestPaid = report.get("top3HighestPaid");
         System.out.println("Top 3 Highest Paid:");
         top3HighestPaid.forEach(emp ->
                 System.out.println("  " + emp.getFullName() + " - $" + emp.getSalary()));
@@ -341,36 +444,80 @@ public class EmployeeStreamOperations {
         // 12. PARALLEL STREAM OPERATIONS
         System.out.println("\n12. PARALLEL STREAM OPERATIONS:");
 
-        // Calculate total salary using parallel stream
-        double totalSalaryParallel = employees.parallelStream()
-                .mapToDouble(Employee::getSalary)
-                .sum();
-        System.out.println("Total Salary (Parallel): $" + totalSalaryParallel);
-
-        // Count employees by gender using parallel stream
-        Map<String, Long> genderCountParallel = employees.parallelStream()
-                .collect(Collectors.groupingBy(Employee::getGender, Collectors.counting()));
-        System.out.println("Gender Count (Parallel): " + genderCountParallel);
+        // Parallel pipelines run on a dedicated pool rather than the common ForkJoinPool;
+        // inputs this small fall below the cost threshold and simply run sequentially
+        try (AnalyticsExecutor executor = new AnalyticsExecutor()) {
+            // Calculate total salary using parallel stream
+            double totalSalaryParallel = executor.run(employees, stream -> stream
+                    .peek(PARALLEL_SALARIES)
+                    .mapToDouble(Employee::getSalary)
+                    .sum());
+            System.out.println("Total Salary (Parallel): $" + totalSalaryParallel);
+
+            // Count employees by gender using parallel stream
+            Map<String, Long> genderCountParallel = executor.run(employees, stream -> stream
+                    .peek(PARALLEL_GENDERS)
+                    .collect(Collectors.groupingBy(Employee::getGender, Collectors.counting())));
+            System.out.println("Gender Count (Parallel): " + genderCountParallel);
+        }
     }
 }
 
 // Additional utility class for advanced operations
 class EmployeeAnalytics {
 
+    // Default salary bands: Below 60k, 60k-80k, 80k-100k, Above 100k
+    static final double[] SALARY_BAND_EDGES = {60000, 80000, 100000};
+
     // Method to get salary range analysis
     public static void salaryRangeAnalysis(List<Employee> employees) {
-        Map<String, Long> salaryRanges = employees.stream()
-                .collect(Collectors.groupingBy(emp -> {
-                    double salary = emp.getSalary();
-                    if (salary < 60000) return "Below 60k";
-                    else if (salary < 80000) return "60k-80k";
-                    else if (salary < 100000) return "80k-100k";
-                    else return "Above 100k";
-                }, Collectors.counting()));
+        salaryRangeAnalysis(employees, SALARY_BAND_EDGES);
+    }
+
+    // Salary range analysis with custom band edges
+    public static void salaryRangeAnalysis(List<Employee> employees, double... bandEdges) {
+        long[] counts = SalaryHistogram.countBands(bandEdges, employees.stream().mapToDouble(Employee::getSalary));
+        printSalaryRanges(bandEdges, counts);
+    }
+
+    // Salary range analysis over the columnar table, scanning the salary column only
+    public static void salaryRangeAnalysis(EmployeeTable table) {
+        long[] counts = SalaryHistogram.countBands(SALARY_BAND_EDGES, table.salaries());
+        printSalaryRanges(SALARY_BAND_EDGES, counts);
+    }
 
+    private static void printSalaryRanges(double[] bandEdges, long[] counts) {
+        String[] labels = SalaryHistogram.labelsFor(bandEdges);
+        Map<String, Long> salaryRanges = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            salaryRanges.put(labels[i], counts[i]);
+        }
         System.out.println("Salary Range Analysis:");
-        salaryRanges.forEach((range, count) ->
-                System.out.println("  " + range + ": " + count + " employees"));
+        salaryRanges.forEach((range, count) -> {
+            if (count > 0) {
+                System.out.println("  " + range + ": " + count + " employees");
+            }
+        });
+    }
+
+    // Average salary per category value, accumulated in arrays indexed by dictionary code
+    public static Map<String, Double> averageSalaryBy(EmployeeTable table, EmployeeTable.Category category) {
+        CategoryDictionary dictionary = table.dictionary(category);
+        double[] sums = new double[dictionary.size()];
+        long[] counts = new long[dictionary.size()];
+        for (int row = 0; row < table.size(); row++) {
+            int code = table.getCode(category, row);
+            sums[code] += table.getSalary(row);
+            counts[code]++;
+        }
+
+        Map<String, Double> averages = new LinkedHashMap<>();
+        for (int code = 0; code < sums.length; code++) {
+            if (counts[code] > 0) {
+                averages.put(dictionary.decode(code), sums[code] / counts[code]);
+            }
+        }
+        return averages;
     }
 
     // Method to find employees with specific criteria
@@ -378,10 +525,19 @@ class EmployeeAnalytics {
                                                String jobTitle,
                                                String gender,
                                                double minSalary) {
-        return employees.stream()
-                .filter(emp -> jobTitle == null || jobTitle.equals(emp.getJobTitle()))
-                .filter(emp -> gender == null || gender.equals(emp.getGender()))
-                .filter(emp -> emp.getSalary() >= minSalary)
-                .collect(Collectors.toList());
+        // Absent (null) criteria are left out of the compiled predicate entirely
+        EmployeeQuery query = EmployeeQuery.where().atLeast(EmployeeQuery.Field.SALARY, minSalary);
+        if (jobTitle != null) {
+            query.eq(EmployeeQuery.Field.JOB_TITLE, jobTitle);
+        }
+        if (gender != null) {
+            query.eq(EmployeeQuery.Field.GENDER, gender);
+        }
+        return findEmployees(employees, query);
+    }
+
+    // Method to find employees matching an arbitrary query
+    public static List<Employee> findEmployees(List<Employee> employees, EmployeeQuery query) {
+        return query.filter(employees);
     }
 }
\ No newline at end of file
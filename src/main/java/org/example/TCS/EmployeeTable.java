@@ -0,0 +1,236 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Column-oriented employee storage.
+// Salary and id live in primitive arrays and the categorical fields are stored as
+// dictionary codes, so aggregations scan contiguous memory instead of chasing
+// Employee references.
+class EmployeeTable {
+
+    // Dictionary-encoded columns
+    public enum Category { GENDER, JOB_TITLE, UNIVERSITY }
+
+    private int size;
+    private int[] ids;
+    private double[] salaries;
+    private int[] genderCodes;
+    private int[] jobTitleCodes;
+    private int[] universityCodes;
+    private String[] firstNames;
+    private String[] lastNames;
+    private String[] emails;
+    private String[] empIds;
+
+    private final EmployeeCategories categories;
+    private final CategoryDictionary genders;
+    private final CategoryDictionary jobTitles;
+    private final CategoryDictionary universities;
+
+    public EmployeeTable() {
+        this(16);
+    }
+
+    public EmployeeTable(int initialCapacity) {
+        this(initialCapacity, EmployeeCategories.shared());
+    }
+
+    // Tables built over the same EmployeeCategories share category codes
+    public EmployeeTable(int initialCapacity, EmployeeCategories categories) {
+        this.categories = categories;
+        this.genders = categories.dictionary(Category.GENDER);
+        this.jobTitles = categories.dictionary(Category.JOB_TITLE);
+        this.universities = categories.dictionary(Category.UNIVERSITY);
+        int capacity = Math.max(initialCapacity, 1);
+        ids = new int[capacity];
+        salaries = new double[capacity];
+        genderCodes = new int[capacity];
+        jobTitleCodes = new int[capacity];
+        universityCodes = new int[capacity];
+        firstNames = new String[capacity];
+        lastNames = new String[capacity];
+        emails = new String[capacity];
+        empIds = new String[capacity];
+    }
+
+    public static EmployeeTable from(Collection<Employee> employees) {
+        EmployeeTable table = new EmployeeTable(employees.size());
+        for (Employee employee : employees) {
+            table.add(employee);
+        }
+        return table;
+    }
+
+    public static EmployeeTable from(Stream<Employee> employees) {
+        EmployeeTable table = new EmployeeTable();
+        employees.forEachOrdered(table::add);
+        return table;
+    }
+
+    // Append a row; returns its index
+    public int add(Employee employee) {
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size;
+        ids[row] = employee.getId();
+        salaries[row] = employee.getSalary();
+        genderCodes[row] = genders.encode(employee.getGender());
+        jobTitleCodes[row] = jobTitles.encode(employee.getJobTitle());
+        universityCodes[row] = universities.encode(employee.getUniversity());
+        firstNames[row] = employee.getFirstName();
+        lastNames[row] = employee.getLastName();
+        emails[row] = employee.getEmail();
+        empIds[row] = employee.getEmpId();
+        size++;
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Primitive column views
+
+    public DoubleStream salaries() {
+        return Arrays.stream(salaries, 0, size);
+    }
+
+    public IntStream ids() {
+        return Arrays.stream(ids, 0, size);
+    }
+
+    public IntStream codes(Category category) {
+        return Arrays.stream(codeColumn(category), 0, size);
+    }
+
+    // Salaries of the rows matching a predicate over row indexes
+    public DoubleStream salariesWhere(IntPredicate rowFilter) {
+        double[] column = salaries;
+        return IntStream.range(0, size).filter(rowFilter).mapToDouble(row -> column[row]);
+    }
+
+    // Salaries of the rows whose category has the given value
+    public DoubleStream salariesWhere(Category category, String value) {
+        int code = dictionary(category).codeOf(value);
+        if (code < 0) {
+            return DoubleStream.empty();
+        }
+        int[] codes = codeColumn(category);
+        return salariesWhere(row -> codes[row] == code);
+    }
+
+    // Row accessors
+
+    public int getId(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    public double getSalary(int row) {
+        checkRow(row);
+        return salaries[row];
+    }
+
+    public int getCode(Category category, int row) {
+        checkRow(row);
+        return codeColumn(category)[row];
+    }
+
+    public String getCategory(Category category, int row) {
+        return dictionary(category).decode(getCode(category, row));
+    }
+
+    public CategoryDictionary dictionary(Category category) {
+        return categories.dictionary(category);
+    }
+
+    // Rows per category value, counted into an array indexed by code
+    public Map<String, Long> countBy(Category category) {
+        int[] codes = codeColumn(category);
+        long[] counts = new long[dictionary(category).size()];
+        for (int row = 0; row < size; row++) {
+            counts[codes[row]]++;
+        }
+        return EmployeeCategories.toCountMap(dictionary(category), counts);
+    }
+
+    // Mean salary per category value, summed into arrays indexed by code
+    public Map<String, Double> averageSalaryBy(Category category) {
+        int[] codes = codeColumn(category);
+        CategoryDictionary dictionary = dictionary(category);
+        double[] sums = new double[dictionary.size()];
+        long[] counts = new long[sums.length];
+        for (int row = 0; row < size; row++) {
+            sums[codes[row]] += salaries[row];
+            counts[codes[row]]++;
+        }
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(dictionary.decode(code), sums[code] / counts[code]);
+            }
+        }
+        return result;
+    }
+
+    // Distinct category values present in the table, in order of first appearance
+    public List<String> distinct(Category category) {
+        int[] codes = codeColumn(category);
+        CategoryDictionary dictionary = dictionary(category);
+        boolean[] seen = new boolean[dictionary.size()];
+        List<String> values = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            int code = codes[row];
+            if (!seen[code]) {
+                seen[code] = true;
+                values.add(dictionary.decode(code));
+            }
+        }
+        return values;
+    }
+
+    // Materialize a row back into an Employee
+    public Employee getEmployee(int row) {
+        checkRow(row);
+        return new Employee(ids[row], firstNames[row], lastNames[row], emails[row],
+                genders.decode(genderCodes[row]), jobTitles.decode(jobTitleCodes[row]),
+                universities.decode(universityCodes[row]), empIds[row], salaries[row]);
+    }
+
+    public Stream<Employee> stream() {
+        return IntStream.range(0, size).mapToObj(this::getEmployee);
+    }
+
+    private int[] codeColumn(Category category) {
+        switch (category) {
+            case GENDER: return genderCodes;
+            case JOB_TITLE: return jobTitleCodes;
+            case UNIVERSITY: return universityCodes;
+            default: throw new IllegalArgumentException("Unknown category: " + category);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range [0, " + size + ")");
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        genderCodes = Arrays.copyOf(genderCodes, capacity);
+        jobTitleCodes = Arrays.copyOf(jobTitleCodes, capacity);
+        universityCodes = Arrays.copyOf(universityCodes, capacity);
+        firstNames = Arrays.copyOf(firstNames, capacity);
+        lastNames = Arrays.copyOf(lastNames, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+        empIds = Arrays.copyOf(empIds, capacity);
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Loads employees from many workbooks and sheets at once.
+//
+// Every (file, sheet) source is parsed by its own task on a fixed pool of parser
+// threads. Parsers hand rows in small batches to a bounded queue and block when it is
+// full, so memory stays bounded by queue capacity x batch size however large the
+// inputs are. The calling thread drains the queue and drops rows whose empId was
+// already seen (Employee.equals/hashCode key on empId); the first row wins.
+class ExcelBatchIngestion {
+
+    // One sheet of one workbook
+    public static final class Source {
+        private final String filePath;
+        private final int sheetIndex;
+
+        public Source(String filePath, int sheetIndex) {
+            this.filePath = Objects.requireNonNull(filePath, "filePath");
+            this.sheetIndex = sheetIndex;
+        }
+
+        public String getFilePath() { return filePath; }
+        public int getSheetIndex() { return sheetIndex; }
+
+        @Override
+        public String toString() {
+            return filePath + "#" + sheetIndex;
+        }
+    }
+
+    public static final class Result {
+        private final List<Employee> employees;
+        private final long rowsRead;
+        private final long duplicates;
+        private final long skippedRows;
+
+        Result(List<Employee> employees, long rowsRead, long duplicates, long skippedRows) {
+            this.employees = employees;
+            this.rowsRead = rowsRead;
+            this.duplicates = duplicates;
+            this.skippedRows = skippedRows;
+        }
+
+        public List<Employee> getEmployees() { return employees; }
+        public long getRowsRead() { return rowsRead; }
+        public long getDuplicates() { return duplicates; }
+
+        // Data rows left out because they could not be parsed
+        public long getSkippedRows() { return skippedRows; }
+    }
+
+    private static final int BATCH_SIZE = 256;
+    private static final List<Employee> END_OF_SOURCE = Collections.emptyList();
+
+    private final int parserThreads;
+    private final int queueCapacity;
+
+    public ExcelBatchIngestion() {
+        this(Runtime.getRuntime().availableProcessors(), 64);
+    }
+
+    // queueCapacity is in batches of BATCH_SIZE rows
+    public ExcelBatchIngestion(int parserThreads, int queueCapacity) {
+        if (parserThreads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Parser threads and queue capacity must be positive");
+        }
+        this.parserThreads = parserThreads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // Every sheet of every file
+    public static List<Source> allSheets(Collection<String> filePaths) {
+        List<Source> sources = new ArrayList<>();
+        for (String filePath : filePaths) {
+            int sheets = ExcelEmployeeReader.sheetCount(filePath);
+            for (int sheet = 0; sheet < sheets; sheet++) {
+                sources.add(new Source(filePath, sheet));
+            }
+        }
+        return sources;
+    }
+
+    // Load and deduplicate all sources into a list, in arrival order
+    public Result ingest(List<Source> sources) {
+        List<Employee> employees = new ArrayList<>();
+        long[] duplicates = new long[1];
+        LongAdder skipped = new LongAdder();
+        long rows = ingest(sources, employees::add, duplicate -> duplicates[0]++,
+                (rowNumber, cause) -> skipped.increment());
+        return new Result(employees, rows, duplicates[0], skipped.sum());
+    }
+
+    // Stream deduplicated employees into a sink on the calling thread; returns rows read.
+    // Duplicates (by empId) go to onDuplicate instead.
+    public long ingest(List<Source> sources, Consumer<Employee> sink, Consumer<Employee> onDuplicate) {
+        return ingest(sources, sink, onDuplicate, ExcelEmployeeReader.IGNORE_SKIPPED_ROWS);
+    }
+
+    // As above; rows that cannot be parsed are reported to skippedRows from the parser threads
+    public long ingest(List<Source> sources, Consumer<Employee> sink, Consumer<Employee> onDuplicate,
+                       ExcelEmployeeReader.SkippedRowHandler skippedRows) {
+        if (sources.isEmpty()) {
+            return 0;
+        }
+
+        BlockingQueue<List<Employee>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService parsers = Executors.newFixedThreadPool(Math.min(parserThreads, sources.size()), runnable -> {
+            Thread thread = new Thread(runnable, "excel-ingestion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // First parser failure, reported as soon as the consumer sees its end marker
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (Source source : sources) {
+            tasks.add(parsers.submit(() -> {
+                try {
+                    parse(source, queue, skippedRows);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                    throw e;
+                } finally {
+                    // Once the consumer has left nobody drains the queue, and a blocking
+                    // put on a full queue would hang this thread forever
+                    if (!cancelled.get()) {
+                        try {
+                            queue.put(END_OF_SOURCE);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        parsers.shutdown();
+
+        Set<String> seenIds = new HashSet<>();
+        long rows = 0;
+        int finished = 0;
+        try {
+            while (finished < sources.size()) {
+                List<Employee> batch = queue.take();
+                if (batch == END_OF_SOURCE) {
+                    finished++;
+                    Throwable error = failure.get();
+                    if (error != null) {
+                        throw new ExecutionException(error);
+                    }
+                    continue;
+                }
+                for (Employee employee : batch) {
+                    rows++;
+                    if (seenIds.add(employee.getEmpId())) {
+                        sink.accept(employee);
+                    } else {
+                        onDuplicate.accept(employee);
+                    }
+                }
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ingesting employees", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Error ingesting employees: " + cause.getMessage(), cause);
+        } finally {
+            // Stops parsers still blocked on a full queue if we are leaving early
+            cancelled.set(true);
+            parsers.shutdownNow();
+        }
+    }
+
+    private static void parse(Source source, BlockingQueue<List<Employee>> queue,
+                              ExcelEmployeeReader.SkippedRowHandler skippedRows) throws InterruptedException {
+        try (Stream<Employee> rows = ExcelEmployeeReader.stream(source.getFilePath(), source.getSheetIndex(), skippedRows)) {
+            Iterator<Employee> iterator = rows.iterator();
+            List<Employee> batch = new ArrayList<>(BATCH_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE) {
+                    queue.put(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Ingestion of " + source + " cancelled");
+                }
+            }
+            if (!batch.isEmpty()) {
+                queue.put(batch);
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package org.example.TCS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+
+// Streaming reader for employee sheets built on POI's event API.
+// Rows are pulled from the sheet XML one at a time as the stream is consumed,
+// so memory use does not depend on the number of rows in the workbook.
+// Gender, job title and university are interned through EmployeeCategories.shared().
+// Data rows that cannot be parsed are skipped and reported to a SkippedRowHandler.
+class ExcelEmployeeReader implements Iterator<Employee>, AutoCloseable {
+
+    // Told about each data row that could not be parsed, by 1-based sheet row number
+    interface SkippedRowHandler {
+        void rowSkipped(int rowNumber, RuntimeException cause);
+    }
+
+    static final SkippedRowHandler IGNORE_SKIPPED_ROWS = (rowNumber, cause) -> { };
+
+    private static final String[] COLUMNS = {
+            "id", "firstname", "lastname", "email", "gender",
+            "jobtitle", "university", "empid", "salary"
+    };
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newInputFactory();
+
+    private final OPCPackage pkg;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final InputStream sheetStream;
+    private final XMLStreamReader xml;
+    private final EmployeeCategories categories = EmployeeCategories.shared();
+    private final SkippedRowHandler skippedRows;
+
+    // Column index in the sheet for each entry of COLUMNS
+    private final int[] columnIndex = new int[COLUMNS.length];
+    private final String[] rowValues = new String[COLUMNS.length];
+    private Employee next;
+    private int rowNumber;
+
+    private ExcelEmployeeReader(OPCPackage pkg, ReadOnlySharedStringsTable sharedStrings,
+                                InputStream sheetStream, SkippedRowHandler skippedRows) throws XMLStreamException {
+        this.pkg = pkg;
+        this.sharedStrings = sharedStrings;
+        this.sheetStream = sheetStream;
+        this.skippedRows = skippedRows;
+        this.xml = XML_INPUT_FACTORY.createXMLStreamReader(sheetStream);
+        for (int i = 0; i < columnIndex.length; i++) {
+            columnIndex[i] = i;
+        }
+    }
+
+    // Lazily stream the employees of the first sheet; close the stream to release the file
+    public static Stream<Employee> stream(String filePath) {
+        return stream(filePath, 0);
+    }
+
+    // Lazily stream the employees of the given sheet (0-based)
+    public static Stream<Employee> stream(String filePath, int sheetIndex) {
+        return stream(filePath, sheetIndex, IGNORE_SKIPPED_ROWS);
+    }
+
+    // Lazily stream the employees of the given sheet, reporting rows that cannot be parsed
+    public static Stream<Employee> stream(String filePath, int sheetIndex, SkippedRowHandler skippedRows) {
+        ExcelEmployeeReader reader = open(filePath, sheetIndex, Objects.requireNonNull(skippedRows, "skippedRows"));
+        Spliterator<Employee> spliterator = Spliterators.spliteratorUnknownSize(
+                reader, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(reader::close);
+    }
+
+    // Number of sheets in the workbook
+    public static int sheetCount(String filePath) {
+        try (OPCPackage pkg = OPCPackage.open(filePath, PackageAccess.READ)) {
+            int count = 0;
+            Iterator<InputStream> sheets = new XSSFReader(pkg).getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                count++;
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read workbook " + filePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    static ExcelEmployeeReader open(String filePath, int sheetIndex, SkippedRowHandler skippedRows) {
+        OPCPackage pkg = null;
+        InputStream sheet = null;
+        try {
+            pkg = OPCPackage.open(filePath, PackageAccess.READ);
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+
+            Iterator<InputStream> sheets = xssfReader.getSheetsData();
+            for (int i = 0; sheets.hasNext(); i++) {
+                InputStream candidate = sheets.next();
+                if (i == sheetIndex) {
+                    sheet = candidate;
+                    break;
+                }
+                candidate.close();
+            }
+            if (sheet == null) {
+                throw new IllegalArgumentException("Sheet " + sheetIndex + " not found in " + filePath);
+            }
+            return new ExcelEmployeeReader(pkg, sharedStrings, sheet, skippedRows);
+        } catch (IllegalArgumentException e) {
+            closeQuietly(sheet, pkg);
+            throw e;
+        } catch (IOException e) {
+            closeQuietly(sheet, pkg);
+            throw new UncheckedIOException(e);
+        } catch (Exception e) {
+            closeQuietly(sheet, pkg);
+            throw new IllegalStateException("Cannot read workbook " + filePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNextEmployee();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Employee next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Employee employee = next;
+        next = null;
+        return employee;
+    }
+
+    @Override
+    public void close() {
+        try {
+            xml.close();
+        } catch (XMLStreamException e) {
+            // Nothing useful to do, the underlying streams are closed below
+        }
+        closeQuietly(sheetStream, pkg);
+    }
+
+    // Advance through the sheet until a data row yields an employee, or the sheet ends
+    private Employee readNextEmployee() {
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    rowNumber++;
+                    if (rowNumber == 1) {
+                        // Keep every cell of the first row, which may be a header of any width
+                        Map<Integer, String> firstRow = new TreeMap<>();
+                        readRow(firstRow);
+                        if (isHeaderRow(firstRow)) {
+                            mapHeader(firstRow);
+                            continue;
+                        }
+                    } else {
+                        readRow(null);
+                    }
+                    Employee employee = toEmployee();
+                    if (employee != null) {
+                        return employee;
+                    }
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Malformed sheet XML near row " + rowNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Read the cells of the current <row> into rowValues, indexed by sheet column, and
+    // into allCells by column when it is given
+    private void readRow(Map<Integer, String> allCells) throws XMLStreamException {
+        Arrays.fill(rowValues, null);
+        int position = 0;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                int column = ref != null ? columnOf(ref) : position;
+                position = column + 1;
+                String value = readCell(xml.getAttributeValue(null, "t"));
+                if (allCells != null && value != null) {
+                    allCells.put(column, value);
+                }
+                int slot = slotOf(column);
+                if (slot >= 0) {
+                    rowValues[slot] = value;
+                }
+            }
+        }
+    }
+
+    // Read the value of the current <c> element according to its cell type
+    private String readCell(String type) throws XMLStreamException {
+        StringBuilder text = null;
+        String value = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    value = xml.getElementText();
+                } else if ("t".equals(name)) {
+                    // Inline string, possibly split into several rich text runs
+                    if (text == null) {
+                        text = new StringBuilder();
+                    }
+                    text.append(xml.getElementText());
+                }
+            }
+        }
+
+        if (text != null) {
+            return text.toString();
+        }
+        if (value == null) {
+            return null;
+        }
+        if ("s".equals(type)) {
+            return sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value) ? "TRUE" : "FALSE";
+        }
+        return value;
+    }
+
+    private static boolean isHeaderRow(Map<Integer, String> cells) {
+        for (String value : cells.values()) {
+            if (normalize(value).equals(COLUMNS[0])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Find each column by header name wherever it sits in the row; a column without a
+    // header cell stays unmapped and reads as empty. The first cell with a name wins.
+    private void mapHeader(Map<Integer, String> header) {
+        Arrays.fill(columnIndex, -1);
+        for (Map.Entry<Integer, String> cell : header.entrySet()) {
+            String name = normalize(cell.getValue());
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (columnIndex[i] < 0 && COLUMNS[i].equals(name)) {
+                    columnIndex[i] = cell.getKey();
+                    break;
+                }
+            }
+        }
+    }
+
+    private Employee toEmployee() {
+        if (rowValues[0] == null && rowValues[7] == null) {
+            return null;  // Blank row
+        }
+        try {
+            return categories.intern(new Employee(
+                    (int) parseNumber(rowValues[0]),
+                    rowValues[1],
+                    rowValues[2],
+                    rowValues[3],
+                    rowValues[4],
+                    rowValues[5],
+                    rowValues[6],
+                    asText(rowValues[7]),
+                    parseNumber(rowValues[8])));
+        } catch (NumberFormatException e) {
+            skippedRows.rowSkipped(rowNumber, e);
+            return null;
+        }
+    }
+
+    private int slotOf(int column) {
+        if (column < 0) {
+            return -1;
+        }
+        for (int i = 0; i < columnIndex.length; i++) {
+            if (columnIndex[i] == column) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // "AB12" -> 27
+    private static int columnOf(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char ch = cellRef.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                break;
+            }
+            column = column * 26 + (ch - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static double parseNumber(String value) {
+        return value == null || value.isEmpty() ? 0 : Double.parseDouble(value.trim());
+    }
+
+    // Numeric cells like employee IDs come back as "79447" or "79447.0"; keep them as text
+    private static String asText(String value) {
+        if (value != null && value.endsWith(".0")) {
+            return value.substring(0, value.length() - 2);
+        }
+        return value;
+    }
+
+    private static String normalize(String header) {
+        return header.trim().replace(" ", "").replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static void closeQuietly(InputStream sheet, OPCPackage pkg) {
+        try {
+            if (sheet != null) {
+                sheet.close();
+            }
+        } catch (IOException e) {
+            // Ignore, closing the package releases the file
+        }
+        if (pkg != null) {
+            pkg.revert();
+        }
+    }
+}
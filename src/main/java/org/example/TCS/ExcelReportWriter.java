@@ -0,0 +1,260 @@
+package org.example.TCS;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+// Writes employee tables and report results to .xlsx through POI's streaming SXSSF API.
+//
+//   try (ExcelReportWriter writer = new ExcelReportWriter()) {
+//       writer.writeEmployees("Employees", employees.stream());
+//       writer.writeReport(report);
+//       writer.save(Paths.get("report.xlsx"));
+//   }
+//
+// Only the last rowWindow rows of a sheet are held in memory; older rows are flushed
+// to a temporary file as new ones are added, so memory stays bounded and time grows
+// linearly with the row count. Cell styles are created once per workbook and shared
+// by every cell. Tables longer than an Excel sheet continue on "Name (2)", "Name (3)"
+// and so on. Employee sheets use the column headers ExcelEmployeeReader expects, so
+// they can be read back. Close the writer to delete the temporary files.
+class ExcelReportWriter implements AutoCloseable {
+
+    private static final String[] EMPLOYEE_HEADERS = {
+            "ID", "First Name", "Last Name", "Email", "Gender",
+            "Job Title", "University", "Emp ID", "Salary"
+    };
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+    private final CellStyle integerStyle;
+    private final CellStyle amountStyle;
+    private final Set<String> sheetNames = new HashSet<>();
+
+    // Keeps 1,000 rows per sheet in memory, with compressed temporary files
+    public ExcelReportWriter() {
+        this(1000, true);
+    }
+
+    public ExcelReportWriter(int rowWindow, boolean compressTempFiles) {
+        if (rowWindow < 1) {
+            throw new IllegalArgumentException("Row window must be positive: " + rowWindow);
+        }
+        this.workbook = new SXSSFWorkbook(null, rowWindow, compressTempFiles);
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+        DataFormat formats = workbook.createDataFormat();
+        integerStyle = workbook.createCellStyle();
+        integerStyle.setDataFormat(formats.getFormat("#,##0"));
+        amountStyle = workbook.createCellStyle();
+        amountStyle.setDataFormat(formats.getFormat("#,##0.00"));
+    }
+
+    // One row per employee; returns the number of rows written
+    public long writeEmployees(String sheetName, Stream<Employee> employees) {
+        TableSheet table = new TableSheet(sheetName, EMPLOYEE_HEADERS, new int[]{8, 14, 16, 32, 10, 28, 36, 12, 14});
+        employees.forEachOrdered(employee -> {
+            Row row = table.nextRow();
+            integer(row, 0, employee.getId());
+            text(row, 1, employee.getFirstName());
+            text(row, 2, employee.getLastName());
+            text(row, 3, employee.getEmail());
+            text(row, 4, employee.getGender());
+            text(row, 5, employee.getJobTitle());
+            text(row, 6, employee.getUniversity());
+            text(row, 7, employee.getEmpId());
+            amount(row, 8, employee.getSalary());
+        });
+        return table.rows;
+    }
+
+    public long writeEmployees(String sheetName, Collection<Employee> employees) {
+        return writeEmployees(sheetName, employees.stream());
+    }
+
+    // Group -> count, as from countBy
+    public <K> void writeCounts(String sheetName, String groupHeader, Map<K, Long> counts) {
+        TableSheet table = new TableSheet(sheetName, new String[]{groupHeader, "Count"}, new int[]{36, 12});
+        counts.forEach((group, count) -> {
+            Row row = table.nextRow();
+            text(row, 0, String.valueOf(group));
+            integer(row, 1, count);
+        });
+    }
+
+    // Group -> average, as from averageBy
+    public <K> void writeAverages(String sheetName, String groupHeader, String valueHeader, Map<K, Double> averages) {
+        TableSheet table = new TableSheet(sheetName, new String[]{groupHeader, valueHeader}, new int[]{36, 16});
+        averages.forEach((group, average) -> {
+            Row row = table.nextRow();
+            text(row, 0, String.valueOf(group));
+            amount(row, 1, average);
+        });
+    }
+
+    // Group -> count / min / average / max / sum, as from statisticsBy
+    public <K> void writeStatistics(String sheetName, String groupHeader, Map<K, DoubleSummaryStatistics> statistics) {
+        TableSheet table = new TableSheet(sheetName,
+                new String[]{groupHeader, "Count", "Min", "Average", "Max", "Sum"},
+                new int[]{36, 12, 14, 14, 14, 16});
+        statistics.forEach((group, stats) -> {
+            Row row = table.nextRow();
+            text(row, 0, String.valueOf(group));
+            integer(row, 1, stats.getCount());
+            amount(row, 2, stats.getMin());
+            amount(row, 3, stats.getAverage());
+            amount(row, 4, stats.getMax());
+            amount(row, 5, stats.getSum());
+        });
+    }
+
+    // Every metric of a StreamReport: maps become one sheet each, named after the
+    // metric, and the remaining values go to a "Summary" sheet
+    public void writeReport(StreamReport.Result report) {
+        TableSheet summary = null;
+        for (String name : report.names()) {
+            Object value = report.get(name);
+            if (value instanceof Map && isStatisticsMap((Map<?, ?>) value)) {
+                @SuppressWarnings("unchecked")
+                Map<Object, DoubleSummaryStatistics> statistics = (Map<Object, DoubleSummaryStatistics>) value;
+                writeStatistics(name, "Group", statistics);
+            } else if (value instanceof Map) {
+                TableSheet table = new TableSheet(name, new String[]{"Group", "Value"}, new int[]{36, 16});
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    Row row = table.nextRow();
+                    text(row, 0, String.valueOf(entry.getKey()));
+                    value(row, 1, entry.getValue());
+                }
+            } else {
+                if (summary == null) {
+                    summary = new TableSheet("Summary", new String[]{"Metric", "Count", "Min", "Average", "Max", "Sum"},
+                            new int[]{28, 12, 14, 14, 14, 16});
+                }
+                Row row = summary.nextRow();
+                text(row, 0, name);
+                if (value instanceof DoubleSummaryStatistics) {
+                    DoubleSummaryStatistics stats = (DoubleSummaryStatistics) value;
+                    integer(row, 1, stats.getCount());
+                    amount(row, 2, stats.getMin());
+                    amount(row, 3, stats.getAverage());
+                    amount(row, 4, stats.getMax());
+                    amount(row, 5, stats.getSum());
+                } else {
+                    value(row, 1, value);
+                }
+            }
+        }
+    }
+
+    public void save(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            workbook.write(out);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    // A table spread over as many sheets as it needs, each starting with the header row
+    private final class TableSheet {
+        private final String baseName;
+        private final String[] headers;
+        private final int[] widths;
+        private SXSSFSheet sheet;
+        private int part;
+        private int nextRow;
+        long rows;
+
+        TableSheet(String name, String[] headers, int[] widths) {
+            this.baseName = name;
+            this.headers = headers;
+            this.widths = widths;
+            startSheet();
+        }
+
+        Row nextRow() {
+            if (nextRow == MAX_ROWS) {
+                startSheet();
+            }
+            rows++;
+            return sheet.createRow(nextRow++);
+        }
+
+        private void startSheet() {
+            part++;
+            sheet = workbook.createSheet(uniqueSheetName(part == 1 ? baseName : baseName + " (" + part + ")"));
+            for (int i = 0; i < widths.length; i++) {
+                // Fixed widths: auto-sizing would need every row kept in memory
+                sheet.setColumnWidth(i, widths[i] * 256);
+            }
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                Cell cell = header.createCell(i);
+                cell.setCellValue(headers[i]);
+                cell.setCellStyle(headerStyle);
+            }
+            sheet.createFreezePane(0, 1);
+            nextRow = 1;
+        }
+    }
+
+    private String uniqueSheetName(String name) {
+        String safe = WorkbookUtil.createSafeSheetName(name);
+        String candidate = safe;
+        for (int i = 2; !sheetNames.add(candidate.toLowerCase(Locale.ROOT)); i++) {
+            String suffix = " (" + i + ")";
+            candidate = safe.substring(0, Math.min(safe.length(), 31 - suffix.length())) + suffix;
+        }
+        return candidate;
+    }
+
+    private static boolean isStatisticsMap(Map<?, ?> map) {
+        return !map.isEmpty() && map.values().iterator().next() instanceof DoubleSummaryStatistics;
+    }
+
+    private static void text(Row row, int column, String value) {
+        if (value != null) {
+            row.createCell(column).setCellValue(value);
+        }
+    }
+
+    private void integer(Row row, int column, long value) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value);
+        cell.setCellStyle(integerStyle);
+    }
+
+    private void amount(Row row, int column, double value) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value);
+        cell.setCellStyle(amountStyle);
+    }
+
+    private void value(Row row, int column, Object value) {
+        if (value instanceof Long || value instanceof Integer) {
+            integer(row, column, ((Number) value).longValue());
+        } else if (value instanceof Number) {
+            amount(row, column, ((Number) value).doubleValue());
+        } else if (value != null) {
+            text(row, column, String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.TCS.Exceptions;
+
+// Raw, unvalidated patient data for bulk admission
+class AdmissionRequest {
+    private final String patientId;
+    private final String name;
+    private final int age;
+    private final double temperature;
+    private final String bloodType;
+
+    public AdmissionRequest(String patientId, String name, int age,
+                            double temperature, String bloodType) {
+        this.patientId = patientId;
+        this.name = name;
+        this.age = age;
+        this.temperature = temperature;
+        this.bloodType = bloodType;
+    }
+
+    // Getters
+    public String getPatientId() { return patientId; }
+    public String getName() { return name; }
+    public int getAge() { return age; }
+    public double getTemperature() { return temperature; }
+    public String getBloodType() { return bloodType; }
+
+    @Override
+    public String toString() {
+        return "AdmissionRequest[ID=" + patientId + ", Name=" + name + ", Age=" + age
+                + ", Temp=" + temperature + ", Blood=" + bloodType + "]";
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.TCS.Exceptions;
+
+import java.util.*;
+
+// Outcome of a bulk admission: the admitted patients and the rejected requests with reasons
+class AdmissionResult {
+
+    public static final class Rejection {
+        private final AdmissionRequest request;
+        private final String reason;
+
+        Rejection(AdmissionRequest request, String reason) {
+            this.request = request;
+            this.reason = reason;
+        }
+
+        public AdmissionRequest getRequest() { return request; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return request.getPatientId() + ": " + reason;
+        }
+    }
+
+    private final List<Patient> accepted;
+    private final List<Rejection> rejected;
+
+    AdmissionResult(List<Patient> accepted, List<Rejection> rejected) {
+        this.accepted = Collections.unmodifiableList(accepted);
+        this.rejected = Collections.unmodifiableList(rejected);
+    }
+
+    public List<Patient> getAccepted() { return accepted; }
+    public List<Rejection> getRejected() { return rejected; }
+
+    @Override
+    public String toString() {
+        return "AdmissionResult[accepted=" + accepted.size() + ", rejected=" + rejected.size() + "]";
+    }
+}
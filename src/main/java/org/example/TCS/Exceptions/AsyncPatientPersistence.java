@@ -0,0 +1,169 @@
+package org.example.TCS.Exceptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Saves and loads a HospitalManagementSystem without blocking the caller on disk.
+//
+//   try (AsyncPatientPersistence persistence = new AsyncPatientPersistence(hospital)) {
+//       persistence.startAutosave(30, TimeUnit.SECONDS);
+//       persistence.saveAsync().whenComplete(...);
+//   }
+//
+// I/O runs on virtual threads when the JVM has them (Java 21+), otherwise on a
+// single daemon thread. Saves are coalesced: at most one save runs and one waits, and
+// every request made while a save is waiting joins it and shares its future, so a
+// burst of requests costs at most two writes. The waiting save writes the newest
+// state (see HospitalManagementSystem.persistenceSnapshot). In non-concurrent mode
+// saveAsync copies the patients on the calling thread, so it must be called from the
+// thread that owns the system. Autosave runs on its own thread and therefore needs a
+// system in concurrent mode; it only writes when patients were admitted since the
+// last save. close() cancels autosave and waits for outstanding saves.
+class AsyncPatientPersistence implements AutoCloseable {
+
+    private final HospitalManagementSystem hospital;
+    private final ExecutorService io;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private ScheduledExecutorService autosave;
+
+    // Save that has been requested but not started, or null
+    private PendingSave pending;
+    private CompletableFuture<Void> lastSave = CompletableFuture.completedFuture(null);
+    private volatile long savedModificationCount = -1;
+
+    private static final class PendingSave {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        Collection<Patient> snapshot;
+        long modificationCount;
+    }
+
+    public AsyncPatientPersistence(HospitalManagementSystem hospital) {
+        this(hospital, ioExecutor());
+    }
+
+    public AsyncPatientPersistence(HospitalManagementSystem hospital, ExecutorService io) {
+        this.hospital = hospital;
+        this.io = io;
+    }
+
+    // Save in the background; completes exceptionally with the IOException on failure
+    public synchronized CompletableFuture<Void> saveAsync() {
+        if (pending != null) {
+            // Join the waiting save, which will now write the newer state
+            pending.snapshot = hospital.persistenceSnapshot();
+            pending.modificationCount = hospital.getModificationCount();
+            return pending.future;
+        }
+        PendingSave save = new PendingSave();
+        save.snapshot = hospital.persistenceSnapshot();
+        save.modificationCount = hospital.getModificationCount();
+        pending = save;
+        try {
+            io.execute(() -> write(save));
+        } catch (RejectedExecutionException e) {
+            pending = null;
+            save.future.completeExceptionally(e);
+        }
+        lastSave = save.future;
+        return save.future;
+    }
+
+    // Load the data file in the background. Loading admits patients, so unless the
+    // system is in concurrent mode it must not be used until the future completes.
+    public CompletableFuture<Void> loadAsync() {
+        return CompletableFuture.runAsync(hospital::loadPatientData, io);
+    }
+
+    // Save every period while there are unsaved admissions; needs concurrent mode
+    public synchronized void startAutosave(long period, TimeUnit unit) {
+        if (!hospital.isConcurrent()) {
+            throw new IllegalStateException(
+                    "Autosave needs a HospitalManagementSystem in concurrent mode");
+        }
+        stopAutosave();
+        autosave = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "patient-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        autosave.scheduleWithFixedDelay(() -> {
+            // An exception escaping a periodic task would cancel all later runs silently
+            try {
+                if (hospital.getModificationCount() != savedModificationCount) {
+                    saveAsync().exceptionally(e -> {
+                        System.err.println("Autosave failed: " + e.getMessage());
+                        return null;
+                    });
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Autosave failed: " + e.getMessage());
+            }
+        }, period, period, unit);
+    }
+
+    public synchronized void stopAutosave() {
+        if (autosave != null) {
+            autosave.shutdownNow();
+            autosave = null;
+        }
+    }
+
+    // Stop autosave, wait for outstanding saves and release the I/O threads
+    @Override
+    public void close() {
+        CompletableFuture<Void> outstanding;
+        synchronized (this) {
+            stopAutosave();
+            outstanding = lastSave;
+        }
+        try {
+            outstanding.join();
+        } catch (CompletionException | CancellationException e) {
+            System.err.println("Error saving patient data: " + e.getMessage());
+        } finally {
+            io.shutdown();
+        }
+    }
+
+    private void write(PendingSave save) {
+        // Serializes writes when the executor runs them on separate virtual threads
+        writeLock.lock();
+        try {
+            Collection<Patient> snapshot;
+            long modificationCount;
+            synchronized (this) {
+                // From here on, new requests start a new pending save
+                if (pending == save) {
+                    pending = null;
+                }
+                snapshot = save.snapshot;
+                modificationCount = save.modificationCount;
+            }
+            hospital.persist(snapshot);
+            savedModificationCount = modificationCount;
+            save.future.complete(null);
+        } catch (IOException e) {
+            save.future.completeExceptionally(new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            save.future.completeExceptionally(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Virtual thread per task on Java 21+, found reflectively so the code still builds for 17
+    static ExecutorService ioExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "patient-persistence");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
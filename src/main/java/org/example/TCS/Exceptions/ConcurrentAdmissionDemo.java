@@ -0,0 +1,81 @@
+package org.example.TCS.Exceptions;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Throughput check for concurrent admissions.
+// Each thread admits its own range of patient IDs into a shared system; the run is
+// repeated with a growing number of threads, once against the concurrent mode and
+// once against a plain system behind a single lock for comparison.
+public class ConcurrentAdmissionDemo {
+
+    private static final String[] BLOOD_TYPES = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
+
+    public static void main(String[] args) throws Exception {
+        int admissionsPerThread = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("=== Concurrent Admission Throughput ===");
+        System.out.printf("%-8s %20s %20s%n", "Threads", "Concurrent (ops/s)", "Single lock (ops/s)");
+
+        // Warm up both paths before measuring
+        run(new HospitalManagementSystem(null, true), 1, admissionsPerThread, false);
+        run(new HospitalManagementSystem(null, false), 1, admissionsPerThread, true);
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double concurrent = run(new HospitalManagementSystem(null, true),
+                    threads, admissionsPerThread, false);
+            double locked = run(new HospitalManagementSystem(null, false),
+                    threads, admissionsPerThread, true);
+            System.out.printf("%-8d %,20.0f %,20.0f%n", threads, concurrent, locked);
+        }
+    }
+
+    // Returns admissions per second
+    private static double run(HospitalManagementSystem hospital, int threads,
+                              int admissionsPerThread, boolean externalLock) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger duplicates = new AtomicInteger();
+        Object lock = new Object();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int base = t * admissionsPerThread;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < admissionsPerThread; i++) {
+                    int n = base + i;
+                    Patient patient = new Patient("P" + n, "Patient " + n, n % 100,
+                            97.0 + (n % 40) / 10.0, BLOOD_TYPES[n % BLOOD_TYPES.length]);
+                    boolean admitted;
+                    if (externalLock) {
+                        synchronized (lock) {
+                            admitted = hospital.admitPatient(patient);
+                        }
+                    } else {
+                        admitted = hospital.admitPatient(patient);
+                    }
+                    if (!admitted) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        pool.shutdown();
+
+        if (duplicates.get() > 0) {
+            throw new IllegalStateException(duplicates.get() + " admissions were rejected as duplicates");
+        }
+        return (double) threads * admissionsPerThread / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -1,7 +1,28 @@
 package org.example.TCS.Exceptions;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.example.TCS.ChangeStream;
+import org.example.TCS.LatencyHistogram;
+import org.example.TCS.Metrics;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 // Custom Exceptions
 class InvalidPatientIdException extends Exception {
@@ -41,29 +62,58 @@ class Patient {
         this.bloodType = bloodType;
     }
 
+    // Holds no data and skips validation. Only for ofValidated and for flyweight views
+    // that override every getter (OffHeapPatientStore); not for building patients.
+    protected Patient() {
+    }
+
+    // Build a patient from data that already passed validationError, skipping re-validation
+    static Patient ofValidated(String patientId, String name, int age,
+                               double temperature, String bloodType) {
+        Patient patient = new Patient();
+        patient.patientId = patientId;
+        patient.name = name;
+        patient.age = age;
+        patient.temperature = temperature;
+        patient.bloodType = bloodType;
+        return patient;
+    }
+
     private void validatePatientData(String id, String name, int age,
                                      double temp, String bloodType)
             throws InvalidMedicalDataException {
+        String error = validationError(id, name, age, temp, bloodType);
+        if (error != null) {
+            throw new InvalidMedicalDataException(error);
+        }
+    }
+
+    // Reason the data is invalid, or null if it is valid; does not throw
+    static String validationError(String id, String name, int age,
+                                  double temp, String bloodType) {
         if (id == null || id.trim().isEmpty()) {
-            throw new InvalidMedicalDataException("Patient ID cannot be empty");
+            return "Patient ID cannot be empty";
         }
         if (name == null || name.trim().isEmpty()) {
-            throw new InvalidMedicalDataException("Patient name cannot be empty");
+            return "Patient name cannot be empty";
         }
         if (age < 0 || age > 150) {
-            throw new InvalidMedicalDataException("Invalid age: " + age);
+            return "Invalid age: " + age;
         }
         if (temp < 90.0 || temp > 110.0) {
-            throw new InvalidMedicalDataException("Invalid temperature: " + temp);
+            return "Invalid temperature: " + temp;
         }
         if (!isValidBloodType(bloodType)) {
-            throw new InvalidMedicalDataException("Invalid blood type: " + bloodType);
+            return "Invalid blood type: " + bloodType;
         }
+        return null;
     }
 
-    private boolean isValidBloodType(String bloodType) {
-        String[] validTypes = {"A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-"};
-        return Arrays.asList(validTypes).contains(bloodType);
+    private static final Set<String> VALID_BLOOD_TYPES =
+            Set.of("A+", "A-", "B+", "B-", "AB+", "AB-", "O+", "O-");
+
+    private static boolean isValidBloodType(String bloodType) {
+        return bloodType != null && VALID_BLOOD_TYPES.contains(bloodType);
     }
 
     // Getters
@@ -75,31 +125,117 @@ class Patient {
 
     @Override
     public String toString() {
-        return String.format("Patient[ID=%s, Name=%s, Age=%d, Temp=%.1f°F, Blood=%s]",
-                patientId, name, age, temperature, bloodType);
+        // Locale.ROOT keeps the decimal point stable, so exports parse back everywhere
+        return String.format(Locale.ROOT, "Patient[ID=%s, Name=%s, Age=%d, Temp=%.1f°F, Blood=%s]",
+                getPatientId(), getName(), getAge(), getTemperature(), getBloodType());
+    }
+}
+
+// Blood types, used as keys of the blood type index
+enum BloodType {
+    A_POSITIVE("A+"), A_NEGATIVE("A-"),
+    B_POSITIVE("B+"), B_NEGATIVE("B-"),
+    AB_POSITIVE("AB+"), AB_NEGATIVE("AB-"),
+    O_POSITIVE("O+"), O_NEGATIVE("O-");
+
+    private static final BloodType[] VALUES = values();
+
+    private final String label;
+
+    BloodType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    // Case-insensitive lookup by label ("ab+" -> AB_POSITIVE), null if unknown
+    public static BloodType fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        for (BloodType type : VALUES) {
+            if (type.label.equalsIgnoreCase(label)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
     }
 }
 
 // Hospital Management System
 class HospitalManagementSystem {
+    private static final LatencyHistogram ADD_TIMER = Metrics.global().timer("hospital.addPatient");
+    private static final LatencyHistogram BULK_ADD_TIMER = Metrics.global().timer("hospital.addPatients");
+    private static final LatencyHistogram FIND_TIMER = Metrics.global().timer("hospital.findPatient");
+    private static final LatencyHistogram SAVE_TIMER = Metrics.global().timer("hospital.savePatientData");
+    private static final LatencyHistogram LOAD_TIMER = Metrics.global().timer("hospital.loadPatientData");
+
     private Map<String, Patient> patients;
     private String dataFilePath;
+    private final boolean concurrent;
+
+    // Secondary indexes, maintained as patients are added.
+    // The bucket map is filled once up front so it is never structurally modified.
+    private Map<BloodType, Collection<Patient>> patientsByBloodType;
+    private DoubleAdder temperatureSum;
+
+    private final AtomicLong modifications = new AtomicLong();
+    private final Object persistLock = new Object();
+    private final ChangeStream<Patient> changes = new ChangeStream<>(4096);
+
+    // Live readings, null unless monitoring is enabled
+    private volatile TemperatureMonitor monitor;
+
+    // Write-ahead journal, null unless journal mode is enabled. Read by persistence
+    // threads, hence volatile.
+    private volatile PatientJournal journal;
+    private long compactionThreshold;
+    // Log size at which the next background compaction starts
+    private volatile long nextCompactionAt;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private ExecutorService compactor;
 
     public HospitalManagementSystem(String dataFilePath) {
-        this.patients = new HashMap<>();
+        this(dataFilePath, false);
+    }
+
+    // In concurrent mode the system can be shared between threads: admissions are
+    // atomic per patient ID and reads never block writers. The indexes are updated
+    // right after the patient is published, so readers may briefly see a patient
+    // in the map before it shows up in a blood type bucket.
+    public HospitalManagementSystem(String dataFilePath, boolean concurrent) {
+        this.concurrent = concurrent;
+        this.patients = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
         this.dataFilePath = dataFilePath;
+        this.patientsByBloodType = new EnumMap<>(BloodType.class);
+        for (BloodType type : BloodType.values()) {
+            patientsByBloodType.put(type, concurrent ? new ConcurrentLinkedQueue<>() : new ArrayList<>());
+        }
+        this.temperatureSum = new DoubleAdder();
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
     }
 
     // Add patient with exception handling
     public void addPatient(String patientId, String name, int age,
                            double temperature, String bloodType) {
+        long start = System.nanoTime();
         try {
             if (patients.containsKey(patientId)) {
                 throw new IllegalArgumentException("Patient ID already exists: " + patientId);
             }
 
             Patient patient = new Patient(patientId, name, age, temperature, bloodType);
-            patients.put(patientId, patient);
+            if (!admitPatient(patient)) {
+                throw new IllegalArgumentException("Patient ID already exists: " + patientId);
+            }
             System.out.println("Patient added successfully: " + patient);
 
         } catch (InvalidMedicalDataException e) {
@@ -108,12 +244,212 @@ class HospitalManagementSystem {
             System.err.println("Error: " + e.getMessage());
         } catch (Exception e) {
             System.err.println("Unexpected error occurred: " + e.getMessage());
+        } finally {
+            ADD_TIMER.recordSince(start);
         }
     }
 
+    // Admit a validated patient without console output.
+    // Returns false if the ID is already taken; the check and insert are a single atomic step.
+    // In journal mode, a patient whose ID or name does not fit the fixed-width snapshot
+    // is rejected with IllegalArgumentException, or it would make every compaction fail.
+    public boolean admitPatient(Patient patient) {
+        PatientJournal current = journal;
+        if (current != null) {
+            PatientRecordFile.checkRecord(patient);
+        }
+        if (patients.putIfAbsent(patient.getPatientId(), patient) != null) {
+            return false;
+        }
+        if (current != null) {
+            journalPatient(patient, current);
+        }
+        indexPatient(patient);
+        modifications.incrementAndGet();
+        changes.added(patient);
+        return true;
+    }
+
+    // Append to the journal; an admission that cannot be logged is rolled back.
+    // Compaction never runs here: it is handed to a background task, so a failing
+    // snapshot cannot fail or half-complete an admission.
+    private void journalPatient(Patient patient, PatientJournal current) {
+        try {
+            current.append(patient);
+        } catch (IOException e) {
+            patients.remove(patient.getPatientId(), patient);
+            throw new UncheckedIOException("Could not journal patient " + patient.getPatientId(), e);
+        }
+        if (current.size() >= nextCompactionAt && compacting.compareAndSet(false, true)) {
+            scheduleCompaction(current);
+        }
+    }
+
+    // Checkpoint and copy on the admitting thread (the owner of the map in
+    // non-concurrent mode), then write the snapshot in the background. A failed
+    // compaction is reported and retried after another compactionThreshold records.
+    private void scheduleCompaction(PatientJournal current) {
+        try {
+            PatientJournal.Checkpoint checkpoint = current.checkpoint();
+            Collection<Patient> snapshot = persistenceSnapshot();
+            compactor.execute(() -> {
+                try {
+                    current.compact(snapshot, checkpoint);
+                    nextCompactionAt = compactionThreshold;
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Error compacting patient journal: " + e.getMessage());
+                    nextCompactionAt = current.size() + compactionThreshold;
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error compacting patient journal: " + e.getMessage());
+            nextCompactionAt = current.size() + compactionThreshold;
+            compacting.set(false);
+        }
+    }
+
+    // Switch to journal mode: recover the snapshot and log into this system, then
+    // append every later admission to the log. Saves become a group-commit sync and
+    // the log is folded into the snapshot once it reaches compactionThreshold records.
+    // Patients already in memory (e.g. from loadPatientData) are snapshotted right
+    // away, since journal mode no longer writes the text export.
+    public void enableJournal(String logFilePath, String snapshotFilePath,
+                              long compactionThreshold) throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("Journal mode is already enabled");
+        }
+        PatientJournal opened = new PatientJournal(Paths.get(logFilePath), Paths.get(snapshotFilePath),
+                256, 10);
+        try {
+            opened.recover(patient -> {
+                try {
+                    // Logs written before admissions were checked may hold records the
+                    // snapshot cannot store
+                    PatientRecordFile.checkRecord(patient);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Skipping journaled patient " + patient.getPatientId() + ": " + e.getMessage());
+                    return;
+                }
+                if (patients.putIfAbsent(patient.getPatientId(), patient) == null) {
+                    indexPatient(patient);
+                }
+            });
+            if (!patients.isEmpty()) {
+                opened.compact(persistenceSnapshot(), opened.checkpoint());
+            }
+        } catch (IOException | RuntimeException e) {
+            opened.close();
+            throw e;
+        }
+        this.compactionThreshold = compactionThreshold;
+        this.nextCompactionAt = compactionThreshold;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "patient-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.journal = opened;
+        System.out.println("Journal recovered: " + patients.size() + " patients");
+    }
+
+    // Fold the journal into a fresh snapshot
+    public void compactJournal() throws IOException {
+        PatientJournal current = journal;
+        if (current == null) {
+            throw new IllegalStateException("Journal mode is not enabled");
+        }
+        PatientJournal.Checkpoint checkpoint = current.checkpoint();
+        current.compact(persistenceSnapshot(), checkpoint);
+    }
+
+    // Sync and close the journal; the system returns to non-journaled admissions.
+    // Waits for a background compaction that is still running.
+    public void closeJournal() throws IOException {
+        PatientJournal current = journal;
+        if (current != null) {
+            journal = null;
+            compactor.shutdown();
+            try {
+                compactor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            current.close();
+        }
+    }
+
+    // Admit many patients at once without console output or exceptions per record.
+    // Validation runs in parallel; admission then runs in input order, so the first
+    // request for an ID wins and later ones are rejected as duplicates.
+    public AdmissionResult addPatients(Collection<AdmissionRequest> requests) {
+        long start = System.nanoTime();
+        try {
+            return admitAll(requests);
+        } finally {
+            BULK_ADD_TIMER.recordSince(start);
+        }
+    }
+
+    public AdmissionResult addPatients(Stream<AdmissionRequest> requests) {
+        return addPatients(requests.collect(Collectors.toList()));
+    }
+
+    private AdmissionResult admitAll(Collection<AdmissionRequest> requests) {
+        List<AdmissionRequest> input = new ArrayList<>(requests);
+        String[] errors = new String[input.size()];
+        IntStream.range(0, input.size()).parallel().forEach(i -> {
+            AdmissionRequest request = input.get(i);
+            errors[i] = Patient.validationError(request.getPatientId(), request.getName(),
+                    request.getAge(), request.getTemperature(), request.getBloodType());
+        });
+
+        List<Patient> accepted = new ArrayList<>();
+        List<AdmissionResult.Rejection> rejected = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            AdmissionRequest request = input.get(i);
+            if (errors[i] != null) {
+                rejected.add(new AdmissionResult.Rejection(request, errors[i]));
+                continue;
+            }
+            Patient patient = Patient.ofValidated(request.getPatientId(), request.getName(),
+                    request.getAge(), request.getTemperature(), request.getBloodType());
+            try {
+                if (admitPatient(patient)) {
+                    accepted.add(patient);
+                } else {
+                    rejected.add(new AdmissionResult.Rejection(request,
+                            "Patient ID already exists: " + request.getPatientId()));
+                }
+            } catch (RuntimeException e) {
+                // Journal failures reject this request only; the rest of the batch goes on
+                rejected.add(new AdmissionResult.Rejection(request, e.getMessage()));
+            }
+        }
+        return new AdmissionResult(accepted, rejected);
+    }
+
+    // Add a patient to the blood type index and the temperature aggregate
+    private void indexPatient(Patient patient) {
+        BloodType type = BloodType.fromLabel(patient.getBloodType());
+        patientsByBloodType.get(type).add(patient);
+        temperatureSum.add(patient.getTemperature());
+    }
+
     // Find patient with custom exception
     public Patient findPatient(String patientId) throws PatientNotFoundException,
             InvalidPatientIdException {
+        long start = System.nanoTime();
+        try {
+            return lookupPatient(patientId);
+        } finally {
+            FIND_TIMER.recordSince(start);
+        }
+    }
+
+    private Patient lookupPatient(String patientId) throws PatientNotFoundException,
+            InvalidPatientIdException {
         if (patientId == null || patientId.trim().isEmpty()) {
             throw new InvalidPatientIdException("Patient ID cannot be null or empty");
         }
@@ -128,37 +464,114 @@ class HospitalManagementSystem {
 
     // Save patient data to file
     public void savePatientData() {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(dataFilePath))) {
-            writer.println("Patient Data Export");
-            writer.println("==================");
-
-            for (Patient patient : patients.values()) {
-                writer.println(patient.toString());
-            }
-
-            System.out.println("Patient data saved to: " + dataFilePath);
+        long start = System.nanoTime();
+        try {
+            writePatientData();
+        } finally {
+            SAVE_TIMER.recordSince(start);
+        }
+    }
 
+    private void writePatientData() {
+        try {
+            persist(patients.values());
+            System.out.println(journal != null ? "Patient journal synced"
+                    : "Patient data saved to: " + dataFilePath);
         } catch (IOException e) {
             System.err.println("Error saving patient data: " + e.getMessage());
         }
     }
 
+    // Save without console output: sync the journal in journal mode, otherwise write the
+    // text export to a temporary file and move it over the data file, so readers and
+    // crashes never see a half-written file
+    void persist(Collection<Patient> snapshot) throws IOException {
+        PatientJournal current = journal;
+        if (current != null) {
+            // Every admission is already in the journal; just make it durable
+            current.sync();
+            return;
+        }
+
+        // Synchronous and background saves share the temporary file
+        synchronized (persistLock) {
+            writeExport(snapshot);
+        }
+    }
+
+    private void writeExport(Collection<Patient> snapshot) throws IOException {
+
+        Path target = Paths.get(dataFilePath).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+            writer.write("Patient Data Export");
+            writer.newLine();
+            writer.write("==================");
+            writer.newLine();
+
+            for (Patient patient : snapshot) {
+                writer.write(patient.toString());
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Patients to hand to persist from another thread. In concurrent mode this is the
+    // live view, read when the save runs. Otherwise it is a copy, and like every other
+    // access in non-concurrent mode it must be taken on the thread that owns the system.
+    Collection<Patient> persistenceSnapshot() {
+        return concurrent ? patients.values() : new ArrayList<>(patients.values());
+    }
+
+    // Change events for admissions (patients are never updated or removed), so that
+    // dashboards and exports can follow the census without rescanning it
+    public ChangeStream<Patient> changes() {
+        return changes;
+    }
+
+    // Bumped on every admission; lets autosave skip saves when nothing changed
+    public long getModificationCount() {
+        return modifications.get();
+    }
+
+    public String getDataFilePath() {
+        return dataFilePath;
+    }
+
     // Load patient data from file
     public void loadPatientData() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(dataFilePath))) {
+        long start = System.nanoTime();
+        try {
+            readPatientData();
+        } finally {
+            LOAD_TIMER.recordSince(start);
+        }
+    }
+
+    private void readPatientData() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(dataFilePath), StandardCharsets.UTF_8))) {
             String line;
             int lineNumber = 0;
+            int loaded = 0;
 
             while ((line = reader.readLine()) != null) {
                 lineNumber++;
                 try {
                     if (line.startsWith("Patient[")) {
                         parsePatientLine(line);
+                        loaded++;
                     }
                 } catch (Exception e) {
                     System.err.println("Error parsing line " + lineNumber + ": " + e.getMessage());
                 }
             }
+            System.out.println("Loaded " + loaded + " patients from: " + dataFilePath);
 
         } catch (FileNotFoundException e) {
             System.out.println("Patient data file not found. Starting with empty database.");
@@ -167,10 +580,75 @@ class HospitalManagementSystem {
         }
     }
 
+    // Save patient data in the fixed-width binary format (see PatientRecordFile)
+    public void saveBinaryData(String binaryFilePath) {
+        try {
+            PatientRecordFile.write(Paths.get(binaryFilePath), patients.values());
+            System.out.println("Patient data saved to: " + binaryFilePath);
+        } catch (IOException e) {
+            System.err.println("Error saving patient data: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error saving patient data: " + e.getMessage());
+        }
+    }
+
+    // Load patient data from a binary file written by saveBinaryData.
+    // Mapping the file is lazy, but every record is then decoded and admitted: the
+    // blood type index, the temperature aggregate and the change stream need each
+    // patient. For lookups alone, PatientRecordFile.open(...).find(id) decodes only
+    // the records it visits.
+    public void loadBinaryData(String binaryFilePath) {
+        PatientRecordFile file;
+        try {
+            file = PatientRecordFile.open(Paths.get(binaryFilePath));
+        } catch (NoSuchFileException e) {
+            System.out.println("Patient data file not found. Starting with empty database.");
+            return;
+        } catch (IOException e) {
+            System.err.println("Error reading patient data: " + e.getMessage());
+            return;
+        }
+
+        int loaded = 0;
+        for (int i = 0; i < file.size(); i++) {
+            try {
+                if (admitPatient(file.get(i))) {
+                    loaded++;
+                }
+            } catch (InvalidMedicalDataException e) {
+                System.err.println("Error reading record " + i + ": " + e.getMessage());
+            }
+        }
+        System.out.println("Loaded " + loaded + " patients from: " + binaryFilePath);
+    }
+
     private void parsePatientLine(String line) throws InvalidMedicalDataException {
-        // Simple parsing logic (in real application, use proper parsing)
-        // This is just for demonstration
-        System.out.println("Parsing patient data: " + line);
+        AdmissionRequest request = PatientLineParser.parse(line);
+        Patient patient = new Patient(request.getPatientId(), request.getName(), request.getAge(),
+                request.getTemperature(), request.getBloodType());
+        if (!admitPatient(patient)) {
+            throw new IllegalArgumentException("Patient ID already exists: " + patient.getPatientId());
+        }
+    }
+
+    // Load a large text export with several parser threads (see PatientExportReader)
+    public PatientExportReader.Result loadPatientDataParallel() {
+        long start = System.nanoTime();
+        try {
+            PatientExportReader.Result result = new PatientExportReader().load(Paths.get(dataFilePath), this);
+            for (String error : result.getErrors()) {
+                System.err.println("Error parsing " + error);
+            }
+            System.out.println("Loaded " + result.getAdmitted() + " patients from: " + dataFilePath);
+            return result;
+        } catch (NoSuchFileException e) {
+            System.out.println("Patient data file not found. Starting with empty database.");
+        } catch (IOException e) {
+            System.err.println("Error reading patient data: " + e.getMessage());
+        } finally {
+            LOAD_TIMER.recordSince(start);
+        }
+        return new PatientExportReader.Result();
     }
 
     // Calculate average temperature with exception handling
@@ -179,29 +657,60 @@ class HospitalManagementSystem {
             throw new ArithmeticException("Cannot calculate average: No patients in database");
         }
 
-        double sum = 0;
-        for (Patient patient : patients.values()) {
-            sum += patient.getTemperature();
-        }
-
-        return sum / patients.size();
+        return temperatureSum.sum() / patients.size();
     }
 
     // Get patients by blood type
     public List<Patient> getPatientsByBloodType(String bloodType) {
-        List<Patient> result = new ArrayList<>();
+        BloodType type = BloodType.fromLabel(bloodType);
+        if (type == null) {
+            return new ArrayList<>();
+        }
 
-        try {
-            for (Patient patient : patients.values()) {
-                if (patient.getBloodType().equalsIgnoreCase(bloodType)) {
-                    result.add(patient);
-                }
-            }
-        } catch (NullPointerException e) {
-            System.err.println("Error processing patients: " + e.getMessage());
+        return new ArrayList<>(patientsByBloodType.get(type));
+    }
+
+    // Start live temperature monitoring with sliding windows of windowMillis,
+    // keeping at most capacity readings per patient
+    public TemperatureMonitor enableMonitoring(long windowMillis, int capacity,
+                                               double feverThreshold, double hypothermiaThreshold) {
+        monitor = new TemperatureMonitor(windowMillis, capacity, feverThreshold, hypothermiaThreshold);
+        return monitor;
+    }
+
+    // Null unless monitoring is enabled
+    public TemperatureMonitor getMonitor() {
+        return monitor;
+    }
+
+    // Record a temperature reading for an admitted patient.
+    // Returns false if monitoring is off, the patient is unknown or the reading is implausible.
+    public boolean recordTemperature(String patientId, long timeMillis, double temperature) {
+        TemperatureMonitor current = monitor;
+        if (current == null || !(temperature >= 80.0 && temperature <= 115.0)) {
+            return false;
+        }
+        Patient patient = patients.get(patientId);
+        if (patient == null) {
+            return false;
         }
+        current.record(patient, timeMillis, temperature);
+        return true;
+    }
 
-        return result;
+    // Lazy, composable query over the current patients
+    public PatientQuery query() {
+        return new PatientQuery(this);
+    }
+
+    // All patients as a lazy stream over the live map
+    public Stream<Patient> patients() {
+        return patients.values().stream();
+    }
+
+    // Query source: one blood type bucket, or every patient when type is null
+    Stream<Patient> patientSource(BloodType type) {
+        return type == null ? patients() : patientsByBloodType.get(type).stream();
     }
 
     public void displayAllPatients() {
@@ -221,12 +730,17 @@ class HospitalManagementSystem {
 // Main class demonstrating exception handling
 public class MedicalSystemDemo {
     public static void main(String[] args) {
-        HospitalManagementSystem hospital = new HospitalManagementSystem("patient_data.txt");
+        // Concurrent mode, since autosave reads the patients from its own thread
+        HospitalManagementSystem hospital = new HospitalManagementSystem("patient_data.txt", true);
         Scanner scanner = new Scanner(System.in);
 
         // Load existing data
         hospital.loadPatientData();
 
+        // Saves run in the background so the menu never waits on disk
+        AsyncPatientPersistence persistence = new AsyncPatientPersistence(hospital);
+        persistence.startAutosave(60, TimeUnit.SECONDS);
+
         while (true) {
             try {
                 System.out.println("\n=== Hospital Management System ===");
@@ -258,9 +772,17 @@ public class MedicalSystemDemo {
                         findPatientsByBloodType(hospital, scanner);
                         break;
                     case 6:
-                        hospital.savePatientData();
+                        persistence.saveAsync().whenComplete((ignored, error) -> {
+                            if (error != null) {
+                                System.err.println("Error saving patient data: " + error.getMessage());
+                            } else {
+                                System.out.println("Patient data saved to: " + hospital.getDataFilePath());
+                            }
+                        });
                         break;
                     case 7:
+                        // Waits for any save still in progress
+                        persistence.close();
                         System.out.println("Goodbye!");
                         return;
                     default:
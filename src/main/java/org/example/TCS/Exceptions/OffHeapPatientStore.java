@@ -0,0 +1,274 @@
+package org.example.TCS.Exceptions;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Patient store that keeps records outside the Java heap, for censuses of millions.
+//
+// Records use the 128 byte layout of PatientRecordFile and live in fixed-size slots
+// of direct ByteBuffers, allocated 64K slots (8 MiB) at a time. Patient IDs map to
+// slots through an open-addressing table of two int arrays (slot and ID hash) with
+// linear probing; keys are compared against the ID bytes in the record, so no String
+// is kept per patient. The heap therefore holds a few bytes per patient and GC work
+// no longer grows with the census. Direct memory is capped by -XX:MaxDirectMemorySize.
+//
+// Reads return flyweight Patient views that decode fields from the record on each
+// call. Records are never moved or changed once written, so views stay valid for the
+// life of the store. forEach visits records through a reused Cursor instead, which is
+// not a Patient and so cannot be kept or hashed by mistake. Patients cannot be
+// removed, as in HospitalManagementSystem. Index operations are synchronized; views
+// read their records without locking.
+class OffHeapPatientStore {
+    private static final int SLOT_BITS = 16;
+    private static final int SLOTS_PER_CHUNK = 1 << SLOT_BITS;
+    private static final int RECORD_SIZE = PatientRecordFile.RECORD_SIZE;
+    private static final BloodType[] BLOOD_TYPES = BloodType.values();
+
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private volatile int size;
+
+    // Open-addressing index: slot + 1 per bucket (0 = empty) and the ID's hash
+    private int[] slots = new int[16];
+    private int[] hashes = new int[16];
+
+    // Add a patient; false if the ID is already stored
+    public synchronized boolean put(Patient patient) {
+        String patientId = patient.getPatientId();
+        byte[] key = patientId.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(patientId);
+        if (findSlot(key, hash) >= 0) {
+            return false;
+        }
+
+        int slot = size;
+        if (slot >>> SLOT_BITS == chunks.length) {
+            ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[chunks.length] = ByteBuffer.allocateDirect(SLOTS_PER_CHUNK * RECORD_SIZE);
+            chunks = grown;
+        }
+        // Throws before the slot is published if a field does not fit
+        PatientRecordFile.writeRecord(chunk(slot), offset(slot), patient);
+
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        insert(slots, hashes, slot, hash);
+        size = slot + 1;
+        return true;
+    }
+
+    // Number of patients added
+    public int putAll(Iterable<Patient> patients) {
+        int added = 0;
+        for (Patient patient : patients) {
+            if (put(patient)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    // View of the stored patient, or null
+    public synchronized Patient get(String patientId) {
+        int slot = findSlot(patientId.getBytes(StandardCharsets.UTF_8), hash(patientId));
+        return slot < 0 ? null : new View(this, slot);
+    }
+
+    public synchronized boolean contains(String patientId) {
+        return findSlot(patientId.getBytes(StandardCharsets.UTF_8), hash(patientId)) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Direct memory reserved for records, in bytes
+    public long offHeapBytes() {
+        return (long) chunks.length * SLOTS_PER_CHUNK * RECORD_SIZE;
+    }
+
+    // One view per patient, in insertion order
+    public Stream<Patient> stream() {
+        return IntStream.range(0, size).mapToObj(slot -> new View(this, slot));
+    }
+
+    // Visit every record through a single reused cursor, allocating nothing per record.
+    // The cursor moves on after each call; use toPatient() to keep a record.
+    public void forEach(Consumer<Cursor> action) {
+        Cursor cursor = new Cursor(this);
+        int count = size;
+        for (int slot = 0; slot < count; slot++) {
+            cursor.slot = slot;
+            action.accept(cursor);
+        }
+    }
+
+    // Read-only position over one record at a time, for forEach
+    public static final class Cursor {
+        private final OffHeapPatientStore store;
+        private int slot;
+
+        private Cursor(OffHeapPatientStore store) {
+            this.store = store;
+        }
+
+        public String getPatientId() {
+            return store.readString(slot, PatientRecordFile.ID_OFFSET, PatientRecordFile.ID_BYTES);
+        }
+
+        public String getName() {
+            return store.readString(slot, PatientRecordFile.NAME_OFFSET, PatientRecordFile.NAME_BYTES);
+        }
+
+        public int getAge() {
+            return store.readAge(slot);
+        }
+
+        public double getTemperature() {
+            return store.readTemperature(slot);
+        }
+
+        public String getBloodType() {
+            return store.readBloodType(slot);
+        }
+
+        // View of the current record that stays valid after the cursor moves
+        public Patient toPatient() {
+            return new View(store, slot);
+        }
+    }
+
+    // Ordinary heap Patient with the same data as a view
+    public static Patient toHeap(Patient patient) {
+        return Patient.ofValidated(patient.getPatientId(), patient.getName(), patient.getAge(),
+                patient.getTemperature(), patient.getBloodType());
+    }
+
+    // Flyweight over one record
+    private static final class View extends Patient {
+        private final OffHeapPatientStore store;
+        private final int slot;
+
+        View(OffHeapPatientStore store, int slot) {
+            this.store = store;
+            this.slot = slot;
+        }
+
+        @Override
+        public String getPatientId() {
+            return store.readString(slot, PatientRecordFile.ID_OFFSET, PatientRecordFile.ID_BYTES);
+        }
+
+        @Override
+        public String getName() {
+            return store.readString(slot, PatientRecordFile.NAME_OFFSET, PatientRecordFile.NAME_BYTES);
+        }
+
+        @Override
+        public int getAge() {
+            return store.readAge(slot);
+        }
+
+        @Override
+        public double getTemperature() {
+            return store.readTemperature(slot);
+        }
+
+        @Override
+        public String getBloodType() {
+            return store.readBloodType(slot);
+        }
+    }
+
+    private int readAge(int slot) {
+        return chunk(slot).getInt(offset(slot) + PatientRecordFile.AGE_OFFSET);
+    }
+
+    private double readTemperature(int slot) {
+        return chunk(slot).getDouble(offset(slot) + PatientRecordFile.TEMPERATURE_OFFSET);
+    }
+
+    private String readBloodType(int slot) {
+        return BLOOD_TYPES[chunk(slot).get(offset(slot) + PatientRecordFile.BLOOD_TYPE_OFFSET)].getLabel();
+    }
+
+    // Records are written by this store and checked on the way in, so a bad length
+    // here means memory was corrupted
+    private String readString(int slot, int fieldOffset, int maxBytes) {
+        String value = PatientRecordFile.readString(chunk(slot), offset(slot) + fieldOffset, maxBytes);
+        if (value == null) {
+            throw new IllegalStateException("Corrupt string field in off-heap record " + slot);
+        }
+        return value;
+    }
+
+    private ByteBuffer chunk(int slot) {
+        return chunks[slot >>> SLOT_BITS];
+    }
+
+    private int offset(int slot) {
+        return (slot & (SLOTS_PER_CHUNK - 1)) * RECORD_SIZE;
+    }
+
+    // Slot holding the ID, or -1
+    private int findSlot(byte[] key, int hash) {
+        int[] table = slots;
+        int[] tableHashes = hashes;
+        int mask = table.length - 1;
+        for (int bucket = hash & mask; ; bucket = (bucket + 1) & mask) {
+            int entry = table[bucket];
+            if (entry == 0) {
+                return -1;
+            }
+            if (tableHashes[bucket] == hash && idEquals(entry - 1, key)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    // Compare the stored ID bytes in place, without decoding a String
+    private boolean idEquals(int slot, byte[] key) {
+        ByteBuffer chunk = chunk(slot);
+        int offset = offset(slot) + PatientRecordFile.ID_OFFSET;
+        if (chunk.getShort(offset) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (chunk.get(offset + 2 + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        int[] newSlots = new int[capacity];
+        int[] newHashes = new int[capacity];
+        for (int bucket = 0; bucket < slots.length; bucket++) {
+            if (slots[bucket] != 0) {
+                insert(newSlots, newHashes, slots[bucket] - 1, hashes[bucket]);
+            }
+        }
+        hashes = newHashes;
+        slots = newSlots;
+    }
+
+    private static void insert(int[] table, int[] tableHashes, int slot, int hash) {
+        int mask = table.length - 1;
+        int bucket = hash & mask;
+        while (table[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        tableHashes[bucket] = hash;
+        table[bucket] = slot + 1;
+    }
+
+    private static int hash(String patientId) {
+        int h = patientId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,225 @@
+package org.example.TCS.Exceptions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Loads large text exports (see PatientLineParser) with several threads.
+//
+// The file is cut into chunks of about chunkBytes, each boundary moved forward to just
+// after a line break, so every line lies in exactly one chunk. Chunks are mapped,
+// decoded as UTF-8 and parsed on a fixed pool of parser threads, with at most two
+// chunks per thread in flight, so memory stays bounded whatever the file size. Parsed
+// chunks are admitted in file order through HospitalManagementSystem.addPatients, so
+// the first line for a patient ID wins, as with a sequential load.
+class PatientExportReader {
+    private static final int MAX_ERRORS = 100;
+
+    public static final class Result {
+        private long lines;
+        private long admitted;
+        private long rejected;
+        private long malformed;
+        private final List<String> errors = new ArrayList<>();
+
+        public long getLines() { return lines; }
+        public long getAdmitted() { return admitted; }
+
+        // Well-formed lines refused by validation or as duplicates
+        public long getRejected() { return rejected; }
+
+        public long getMalformed() { return malformed; }
+
+        // The first errors, as "line N: reason"
+        public List<String> getErrors() { return Collections.unmodifiableList(errors); }
+
+        private void error(long line, String reason) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("line " + line + ": " + reason);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Result[lines=" + lines + ", admitted=" + admitted + ", rejected=" + rejected
+                    + ", malformed=" + malformed + "]";
+        }
+    }
+
+    // What one chunk yielded; line numbers are relative to the chunk
+    private static final class Chunk {
+        final List<AdmissionRequest> requests = new ArrayList<>();
+        final List<Integer> requestLines = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        final List<Integer> errorLines = new ArrayList<>();
+        int malformed;
+        int lines;
+    }
+
+    private final int parserThreads;
+    private final int chunkBytes;
+
+    public PatientExportReader() {
+        this(Runtime.getRuntime().availableProcessors(), 8 << 20);
+    }
+
+    public PatientExportReader(int parserThreads, int chunkBytes) {
+        if (parserThreads < 1 || chunkBytes < 1) {
+            throw new IllegalArgumentException("Parser threads and chunk size must be positive");
+        }
+        this.parserThreads = parserThreads;
+        this.chunkBytes = chunkBytes;
+    }
+
+    public Result load(Path file, HospitalManagementSystem hospital) throws IOException {
+        Result result = new Result();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            int chunks = bounds.length - 1;
+            ExecutorService parsers = Executors.newFixedThreadPool(Math.max(1, Math.min(parserThreads, chunks)),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "patient-export-reader");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            try {
+                Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+                int next = 0;
+                while (next < chunks || !inFlight.isEmpty()) {
+                    while (next < chunks && inFlight.size() < 2 * parserThreads) {
+                        long from = bounds[next];
+                        long to = bounds[next + 1];
+                        inFlight.add(parsers.submit(() -> parse(channel, from, to)));
+                        next++;
+                    }
+                    admit(inFlight.poll().get(), hospital, result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading " + file, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException("Error loading " + file + ": " + cause.getMessage(), cause);
+            } finally {
+                parsers.shutdownNow();
+            }
+        }
+        return result;
+    }
+
+    private static void admit(Chunk chunk, HospitalManagementSystem hospital, Result result) {
+        long firstLine = result.lines + 1;
+        // Parse and admission errors of the chunk, merged into line order
+        TreeMap<Integer, String> errors = new TreeMap<>();
+        for (int i = 0; i < chunk.errors.size(); i++) {
+            errors.put(chunk.errorLines.get(i), chunk.errors.get(i));
+        }
+        AdmissionResult admission = hospital.addPatients(chunk.requests);
+        if (!admission.getRejected().isEmpty()) {
+            // Requests are distinct objects, so identity maps them back to their lines
+            Map<AdmissionRequest, Integer> lineOf = new IdentityHashMap<>();
+            for (int i = 0; i < chunk.requests.size(); i++) {
+                lineOf.put(chunk.requests.get(i), chunk.requestLines.get(i));
+            }
+            for (AdmissionResult.Rejection rejection : admission.getRejected()) {
+                errors.put(lineOf.get(rejection.getRequest()), rejection.getReason());
+            }
+        }
+        errors.forEach((line, reason) -> result.error(firstLine + line, reason));
+        result.lines += chunk.lines;
+        result.admitted += admission.getAccepted().size();
+        result.rejected += admission.getRejected().size();
+        result.malformed += chunk.malformed;
+    }
+
+    // Chunk start offsets plus the file size; every inner boundary follows a '\n'
+    private long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long position = 0;
+        while (position + chunkBytes < size) {
+            long scan = position + chunkBytes;
+            long boundary = -1;
+            while (boundary < 0 && scan < size) {
+                probe.clear();
+                int read = channel.read(probe, scan);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        boundary = scan + i + 1;
+                        break;
+                    }
+                }
+                scan += read;
+            }
+            if (boundary < 0 || boundary >= size) {
+                break;
+            }
+            bounds.add(boundary);
+            position = boundary;
+        }
+        bounds.add(size);
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static Chunk parse(FileChannel channel, long from, long to) throws IOException {
+        Chunk chunk = new Chunk();
+        if (to <= from) {
+            return chunk;
+        }
+        if (to - from > Integer.MAX_VALUE) {
+            throw new IOException("Line too long to load: over " + Integer.MAX_VALUE + " bytes");
+        }
+        ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer text = decoder.decode(bytes);
+
+        int length = text.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && text.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int lineNumber = chunk.lines++;
+            if (PatientLineParser.isPatientLine(text, lineStart, lineEnd)) {
+                try {
+                    chunk.requests.add(PatientLineParser.parse(text, lineStart, lineEnd));
+                    chunk.requestLines.add(lineNumber);
+                } catch (InvalidMedicalDataException e) {
+                    chunk.malformed++;
+                    if (chunk.errors.size() < MAX_ERRORS) {
+                        chunk.errors.add(e.getMessage());
+                        chunk.errorLines.add(lineNumber);
+                    }
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return chunk;
+    }
+}
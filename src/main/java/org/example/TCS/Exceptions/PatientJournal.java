@@ -0,0 +1,322 @@
+package org.example.TCS.Exceptions;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Append-only write-ahead log of admitted patients with a binary snapshot.
+//
+// Every admission appends one length-prefixed, checksummed record to the log. The
+// log is fsynced in groups: a background flusher syncs once per interval, or as soon
+// as the batch size is reached, so many appends share one fsync. Compaction folds the
+// current patients into a PatientRecordFile snapshot and drops the log records it
+// covers; recovery loads the snapshot and replays the log tail, stopping at the first
+// torn record.
+//
+// Log record: [int payload length][int CRC32 of payload][payload]
+// Payload:    [UTF id][UTF name][int age][double temperature][byte blood type ordinal]
+class PatientJournal implements Closeable {
+    private static final int RECORD_HEADER = 8;
+    private static final BloodType[] BLOOD_TYPES = BloodType.values();
+
+    private final Path logFile;
+    private final Path snapshotFile;
+    private final int groupCommitSize;
+    private final long groupCommitMillis;
+
+    private final Object lock = new Object();
+    private final Object compactLock = new Object();
+    private FileChannel log;
+    private long appendedRecords;   // Records in the log since the last compaction
+    private long unsyncedRecords;   // Records appended since the last fsync
+    private boolean closed;
+    private final Thread flusher;
+
+    public PatientJournal(Path logFile, Path snapshotFile, int groupCommitSize, long groupCommitMillis)
+            throws IOException {
+        this.logFile = logFile;
+        this.snapshotFile = snapshotFile;
+        this.groupCommitSize = Math.max(1, groupCommitSize);
+        this.groupCommitMillis = Math.max(1, groupCommitMillis);
+        this.log = FileChannel.open(logFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.flusher = new Thread(this::flushLoop, "patient-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // Replay the snapshot, then the log, into the consumer. A torn or corrupt log tail
+    // (from a crash mid-append) is cut off so new records follow the last good one.
+    public void recover(Consumer<Patient> consumer) throws IOException {
+        synchronized (lock) {
+            if (Files.exists(snapshotFile)) {
+                PatientRecordFile.open(snapshotFile).stream().forEach(consumer);
+            }
+
+            long position = 0;
+            long records = 0;
+            long length = log.size();
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+            CRC32 crc = new CRC32();
+
+            while (position + RECORD_HEADER <= length) {
+                header.clear();
+                readFully(header, position);
+                header.flip();
+                int payloadLength = header.getInt();
+                int checksum = header.getInt();
+                if (payloadLength <= 0 || position + RECORD_HEADER + payloadLength > length) {
+                    break;
+                }
+
+                ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+                readFully(payload, position + RECORD_HEADER);
+                crc.reset();
+                crc.update(payload.array(), 0, payloadLength);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                try {
+                    consumer.accept(decode(payload.array()));
+                } catch (InvalidMedicalDataException | IOException e) {
+                    System.err.println("Skipping journal record at offset " + position + ": " + e.getMessage());
+                }
+                position += RECORD_HEADER + payloadLength;
+                records++;
+            }
+
+            if (position < length) {
+                System.err.println("Discarding " + (length - position) + " bytes of incomplete journal tail");
+                log.truncate(position);
+                log.force(false);
+            }
+            log.position(position);
+            appendedRecords = records;
+        }
+    }
+
+    // Append an admitted patient to the log; durable after the next group commit
+    public void append(Patient patient) throws IOException {
+        byte[] payload = encode(patient);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + payload.length);
+        record.putInt(payload.length);
+        record.putInt((int) crc.getValue());
+        record.put(payload);
+        record.flip();
+
+        synchronized (lock) {
+            ensureOpen();
+            long start = log.position();
+            try {
+                while (record.hasRemaining()) {
+                    log.write(record);
+                }
+            } catch (IOException e) {
+                // Cut off a partial record, or recovery would stop at it and drop every
+                // good record appended after it
+                try {
+                    log.truncate(start);
+                    log.position(start);
+                } catch (IOException rollback) {
+                    e.addSuppressed(rollback);
+                }
+                throw e;
+            }
+            appendedRecords++;
+            if (++unsyncedRecords >= groupCommitSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Force every appended record to disk now
+    public void sync() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            if (unsyncedRecords > 0) {
+                log.force(false);
+                unsyncedRecords = 0;
+            }
+        }
+    }
+
+    // Records in the log since the last compaction
+    public long size() {
+        synchronized (lock) {
+            return appendedRecords;
+        }
+    }
+
+    // Position in the log up to which a snapshot taken afterwards is complete.
+    // Take it before copying the patients: every record before it belongs to a patient
+    // already in the map, since admissions publish to the map before appending.
+    public static final class Checkpoint {
+        final long position;
+        final long records;
+
+        private Checkpoint(long position, long records) {
+            this.position = position;
+            this.records = records;
+        }
+    }
+
+    public Checkpoint checkpoint() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            return new Checkpoint(log.position(), appendedRecords);
+        }
+    }
+
+    // Write the given patients as the new snapshot and drop the log records before the
+    // checkpoint; records appended after it are kept, so nothing admitted while the
+    // snapshot was taken or written is lost. Appends continue while the snapshot is
+    // written. Both the snapshot and the shortened log are written to temporary files
+    // and moved into place, so a crash leaves the old or the new state, never a mix
+    // that misses records (replaying a record twice is harmless).
+    public void compact(Collection<Patient> patients, Checkpoint checkpoint) throws IOException {
+        synchronized (compactLock) {
+            // Written to a temporary file and moved into place by PatientRecordFile
+            PatientRecordFile.write(snapshotFile, patients);
+
+            synchronized (lock) {
+                ensureOpen();
+                long end = log.size();
+                ByteBuffer tail = ByteBuffer.allocate(Math.toIntExact(end - checkpoint.position));
+                readFully(tail, checkpoint.position);
+                tail.flip();
+
+                Path tempLog = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+                try (FileChannel out = FileChannel.open(tempLog, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    while (tail.hasRemaining()) {
+                        out.write(tail);
+                    }
+                    out.force(false);
+                }
+                log.close();
+                moveIntoPlace(tempLog, logFile);
+                log = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                log.position(log.size());
+                appendedRecords -= checkpoint.records;
+                unsyncedRecords = 0;
+            }
+        }
+    }
+
+    // Compact everything logged so far
+    public void compact(Collection<Patient> patients) throws IOException {
+        compact(patients, checkpoint());
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            if (unsyncedRecords > 0) {
+                log.force(false);
+            }
+            closed = true;
+            log.close();
+            lock.notifyAll();
+        }
+    }
+
+    // Group commit: sync once per interval, or early when a full batch is pending.
+    // The fsync runs outside the lock so appends continue while the disk catches up.
+    private void flushLoop() {
+        while (true) {
+            long batch;
+            FileChannel channel;
+            synchronized (lock) {
+                try {
+                    if (!closed && unsyncedRecords < groupCommitSize) {
+                        lock.wait(groupCommitMillis);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (closed) {
+                    return;
+                }
+                batch = unsyncedRecords;
+                channel = log;
+            }
+            if (batch == 0) {
+                continue;
+            }
+
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // Closed, or swapped for a new log by compaction, which synced it
+                continue;
+            } catch (IOException e) {
+                System.err.println("Error syncing patient journal: " + e.getMessage());
+                continue;
+            }
+            synchronized (lock) {
+                unsyncedRecords = Math.max(0, unsyncedRecords - batch);
+            }
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Patient journal is closed: " + logFile);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = log.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of journal at offset " + position);
+            }
+        }
+    }
+
+    private static byte[] encode(Patient patient) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(patient.getPatientId());
+            out.writeUTF(patient.getName());
+            out.writeInt(patient.getAge());
+            out.writeDouble(patient.getTemperature());
+            out.writeByte(BloodType.fromLabel(patient.getBloodType()).ordinal());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Patient decode(byte[] payload) throws IOException, InvalidMedicalDataException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String id = in.readUTF();
+        String name = in.readUTF();
+        int age = in.readInt();
+        double temperature = in.readDouble();
+        int bloodType = in.readUnsignedByte();
+        if (bloodType >= BLOOD_TYPES.length) {
+            throw new InvalidMedicalDataException("Invalid blood type code: " + bloodType);
+        }
+        return new Patient(id, name, age, temperature, BLOOD_TYPES[bloodType].getLabel());
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.TCS.Exceptions;
+
+// Parser for the text export lines written by Patient.toString:
+//
+//   Patient[ID=P001, Name=John Smith, Age=45, Temp=98.6°F, Blood=A+]
+//
+// Hand-written instead of a regex: the fields are located with plain character scans
+// over the original CharSequence and the numbers are parsed in place, so a line costs
+// two Strings (ID and name) and nothing else. The temperature accepts '.' or ',' as
+// decimal separator, for files written under a comma locale, and whatever follows the
+// number up to ", Blood=" (the degree sign may have been mangled by a legacy encoding).
+// Values are not validated here; that is left to HospitalManagementSystem.
+final class PatientLineParser {
+    static final String PREFIX = "Patient[ID=";
+    private static final String NAME = ", Name=";
+    private static final String AGE = ", Age=";
+    private static final String TEMP = ", Temp=";
+    private static final String BLOOD = ", Blood=";
+
+    private static final BloodType[] BLOOD_TYPES = BloodType.values();
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L};
+
+    private PatientLineParser() {
+    }
+
+    static boolean isPatientLine(CharSequence text, int start, int end) {
+        return regionMatches(text, start, end, "Patient[");
+    }
+
+    public static AdmissionRequest parse(CharSequence line) throws InvalidMedicalDataException {
+        return parse(line, 0, line.length());
+    }
+
+    // Parse the line text[start, end); trailing whitespace (such as '\r') is ignored
+    public static AdmissionRequest parse(CharSequence text, int start, int end)
+            throws InvalidMedicalDataException {
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (!regionMatches(text, start, end, PREFIX)) {
+            throw malformed("line does not start with " + PREFIX);
+        }
+        if (text.charAt(end - 1) != ']') {
+            throw malformed("line does not end with ']'");
+        }
+        end--;
+
+        int idStart = start + PREFIX.length();
+        int idEnd = find(text, idStart, end, NAME);
+        int nameStart = idEnd + NAME.length();
+        int nameEnd = find(text, nameStart, end, AGE);
+        int ageStart = nameEnd + AGE.length();
+        int ageEnd = find(text, ageStart, end, TEMP);
+        int tempStart = ageEnd + TEMP.length();
+        int bloodStart = find(text, tempStart, end, BLOOD) + BLOOD.length();
+
+        String id = text.subSequence(idStart, idEnd).toString();
+        String name = text.subSequence(nameStart, nameEnd).toString();
+        int age = parseInt(text, ageStart, ageEnd);
+        double temperature = parseTemperature(text, tempStart, bloodStart - BLOOD.length());
+        String bloodType = bloodType(text, bloodStart, end);
+        return new AdmissionRequest(id, name, age, temperature, bloodType);
+    }
+
+    private static int parseInt(CharSequence text, int start, int end) throws InvalidMedicalDataException {
+        boolean negative = start < end && text.charAt(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end || end - i > 9) {
+            throw malformed("bad age '" + text.subSequence(start, end) + "'");
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw malformed("bad age '" + text.subSequence(start, end) + "'");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    // Digits with an optional '.' or ',' fraction, followed by the unit, which is skipped
+    private static double parseTemperature(CharSequence text, int start, int end)
+            throws InvalidMedicalDataException {
+        int i = start;
+        boolean negative = i < end && text.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if ((c == '.' || c == ',') && fractionDigits < 0
+                    && i + 1 < end && Character.isDigit(text.charAt(i + 1))) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            throw malformed("bad temperature '" + text.subSequence(start, end) + "'");
+        }
+        if (digits > 15 || fractionDigits >= POWERS_OF_TEN.length) {
+            // Too long to be exact in a long / double mantissa; let the JDK round it
+            return Double.parseDouble(text.subSequence(start, i).toString().replace(',', '.'));
+        }
+        // An exact integer divided by an exact power of ten rounds once, like parseDouble
+        double value = fractionDigits <= 0 ? mantissa : mantissa / (double) POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    // The label constant when the text is a known blood type, else the text itself
+    private static String bloodType(CharSequence text, int start, int end) {
+        for (BloodType type : BLOOD_TYPES) {
+            String label = type.getLabel();
+            if (end - start == label.length() && regionMatches(text, start, end, label)) {
+                return label;
+            }
+        }
+        return text.subSequence(start, end).toString();
+    }
+
+    private static int find(CharSequence text, int from, int end, String token)
+            throws InvalidMedicalDataException {
+        char first = token.charAt(0);
+        for (int i = from; i <= end - token.length(); i++) {
+            if (text.charAt(i) == first && regionMatches(text, i, end, token)) {
+                return i;
+            }
+        }
+        throw malformed("missing '" + token.substring(2) + "'");
+    }
+
+    private static boolean regionMatches(CharSequence text, int start, int end, String token) {
+        if (end - start < token.length()) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (text.charAt(start + i) != token.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static InvalidMedicalDataException malformed(String reason) {
+        return new InvalidMedicalDataException("Malformed patient line: " + reason);
+    }
+}
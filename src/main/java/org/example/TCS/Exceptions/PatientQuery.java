@@ -0,0 +1,194 @@
+package org.example.TCS.Exceptions;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Lazy query over the patients of a HospitalManagementSystem.
+//
+//   List<Patient> febrile = hospital.query()
+//           .minTemperature(100.4)
+//           .limit(50)
+//           .list();
+//
+// Nothing is evaluated until stream(), list(), first() or a cursor is asked for, and
+// unsorted queries stop as soon as offset + limit patients have matched. A blood type
+// criterion reads only that blood type's bucket. Sorted queries with a limit keep a
+// bounded heap of offset + limit patients instead of sorting every match.
+// In non-concurrent mode the system must not be modified while a query is consumed.
+class PatientQuery {
+
+    public enum Field {
+        ID(Comparator.comparing(Patient::getPatientId)),
+        NAME(Comparator.comparing(Patient::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))),
+        AGE(Comparator.comparingInt(Patient::getAge)),
+        TEMPERATURE(Comparator.comparingDouble(Patient::getTemperature)),
+        BLOOD_TYPE(Comparator.comparing(p -> BloodType.fromLabel(p.getBloodType())));
+
+        private final Comparator<Patient> order;
+
+        Field(Comparator<Patient> order) {
+            this.order = order;
+        }
+    }
+
+    private final HospitalManagementSystem hospital;
+    private BloodType bloodType;
+    private boolean noMatch;
+    private final List<Predicate<Patient>> filters = new ArrayList<>();
+    private Comparator<Patient> order;
+    private long offset;
+    private long limit = Long.MAX_VALUE;
+
+    PatientQuery(HospitalManagementSystem hospital) {
+        this.hospital = hospital;
+    }
+
+    public PatientQuery bloodType(String label) {
+        BloodType type = BloodType.fromLabel(label);
+        if (type == null || (bloodType != null && bloodType != type)) {
+            noMatch = true;
+        }
+        bloodType = type;
+        return this;
+    }
+
+    // Inclusive lower bound
+    public PatientQuery minTemperature(double min) {
+        return where(patient -> patient.getTemperature() >= min);
+    }
+
+    // Inclusive upper bound
+    public PatientQuery maxTemperature(double max) {
+        return where(patient -> patient.getTemperature() <= max);
+    }
+
+    public PatientQuery ageBetween(int min, int max) {
+        return where(patient -> patient.getAge() >= min && patient.getAge() <= max);
+    }
+
+    public PatientQuery where(Predicate<Patient> filter) {
+        filters.add(Objects.requireNonNull(filter, "filter"));
+        return this;
+    }
+
+    public PatientQuery sortBy(Field field) {
+        return sortBy(field, true);
+    }
+
+    // Later sort fields break ties of earlier ones
+    public PatientQuery sortBy(Field field, boolean ascending) {
+        Comparator<Patient> next = ascending ? field.order : field.order.reversed();
+        order = order == null ? next : order.thenComparing(next);
+        return this;
+    }
+
+    public PatientQuery offset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    public PatientQuery limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public Stream<Patient> stream() {
+        if (noMatch || limit == 0) {
+            return Stream.empty();
+        }
+        Stream<Patient> matches = hospital.patientSource(bloodType);
+        for (Predicate<Patient> filter : filters) {
+            matches = matches.filter(filter);
+        }
+        if (order != null) {
+            matches = sorted(matches);
+        }
+        if (offset > 0) {
+            matches = matches.skip(offset);
+        }
+        return limit == Long.MAX_VALUE ? matches : matches.limit(limit);
+    }
+
+    public List<Patient> list() {
+        List<Patient> result = new ArrayList<>();
+        stream().forEachOrdered(result::add);
+        return result;
+    }
+
+    public Optional<Patient> first() {
+        return stream().findFirst();
+    }
+
+    public long count() {
+        return stream().count();
+    }
+
+    // Page through the results pageSize patients at a time, starting at the offset
+    public Cursor cursor(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        return new Cursor(stream().iterator(), pageSize);
+    }
+
+    public static final class Cursor {
+        private final Iterator<Patient> results;
+        private final int pageSize;
+        private long position;
+
+        private Cursor(Iterator<Patient> results, int pageSize) {
+            this.results = results;
+            this.pageSize = pageSize;
+        }
+
+        public boolean hasNext() {
+            return results.hasNext();
+        }
+
+        // Next page; empty once the results are exhausted
+        public List<Patient> next() {
+            List<Patient> page = new ArrayList<>(pageSize);
+            while (page.size() < pageSize && results.hasNext()) {
+                page.add(results.next());
+            }
+            position += page.size();
+            return page;
+        }
+
+        // Patients returned so far
+        public long getPosition() {
+            return position;
+        }
+    }
+
+    private Stream<Patient> sorted(Stream<Patient> matches) {
+        long keep = limit == Long.MAX_VALUE ? Long.MAX_VALUE : offset + limit;
+        if (keep <= 0 || keep > Integer.MAX_VALUE - 8) {
+            return matches.sorted(order);
+        }
+        // Bounded max-heap of the best offset + limit matches; the head is the worst kept
+        int capacity = (int) keep;
+        Comparator<Patient> reversed = order.reversed();
+        return Stream.of(matches).flatMap(source -> {
+            PriorityQueue<Patient> heap = new PriorityQueue<>(Math.min(capacity, 64) + 1, reversed);
+            source.forEachOrdered(patient -> {
+                if (heap.size() < capacity) {
+                    heap.add(patient);
+                } else if (order.compare(patient, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(patient);
+                }
+            });
+            Patient[] best = heap.toArray(new Patient[0]);
+            Arrays.sort(best, order);
+            return Arrays.stream(best);
+        });
+    }
+}
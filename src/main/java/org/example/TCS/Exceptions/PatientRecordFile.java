@@ -0,0 +1,231 @@
+package org.example.TCS.Exceptions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Fixed-width binary patient file, read through a memory mapping.
+//
+// Layout: a 16 byte header (magic, version, record count, record size) followed by
+// one 128 byte record per patient, sorted by patient ID:
+//   [0..32)   patient ID   (2 byte UTF-8 length + up to 30 bytes)
+//   [32..112) name         (2 byte UTF-8 length + up to 78 bytes)
+//   [112..116) age         (int)
+//   [116..124) temperature (double)
+//   [124]     blood type   (BloodType ordinal)
+//
+// Opening a file only maps it; patients are decoded one record at a time when
+// they are asked for, and lookups by ID binary search the mapped records.
+class PatientRecordFile {
+    static final int MAGIC = 0x50544E54;  // "PTNT"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 128;
+
+    static final int ID_OFFSET = 0;
+    static final int ID_BYTES = 30;
+    static final int NAME_OFFSET = 32;
+    static final int NAME_BYTES = 78;
+    static final int AGE_OFFSET = 112;
+    static final int TEMPERATURE_OFFSET = 116;
+    static final int BLOOD_TYPE_OFFSET = 124;
+
+    private static final BloodType[] BLOOD_TYPES = BloodType.values();
+
+    private final ByteBuffer buffer;
+    private final int count;
+
+    private PatientRecordFile(ByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    // Write all patients to the file, replacing its contents. Every record is checked
+    // before anything is written, and the data goes to a temporary file that is then
+    // moved over the target, so a failure leaves the existing file untouched.
+    public static void write(Path file, Collection<Patient> patients) throws IOException {
+        List<Patient> sorted = new ArrayList<>(patients);
+        sorted.sort(Comparator.comparing(Patient::getPatientId));
+        for (Patient patient : sorted) {
+            checkRecord(patient);
+        }
+
+        long length = HEADER_SIZE + (long) RECORD_SIZE * sorted.size();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Too many patients for a single mapped file: " + sorted.size());
+        }
+
+        Path target = file.toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+                out.putInt(MAGIC);
+                out.putShort(VERSION);
+                out.putShort((short) 0);
+                out.putInt(sorted.size());
+                out.putInt(RECORD_SIZE);
+
+                for (int i = 0; i < sorted.size(); i++) {
+                    writeRecord(out, HEADER_SIZE + i * RECORD_SIZE, sorted.get(i));
+                }
+                out.force();
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    // Throws IllegalArgumentException if the patient does not fit a fixed-width record
+    static void checkRecord(Patient patient) {
+        checkLength(patient.getPatientId(), ID_BYTES, "Patient ID");
+        checkLength(patient.getName(), NAME_BYTES, "Patient name");
+        if (BloodType.fromLabel(patient.getBloodType()) == null) {
+            throw new IllegalArgumentException("Invalid blood type for binary format: " + patient.getBloodType());
+        }
+    }
+
+    private static void checkLength(String value, int maxBytes, String field) {
+        if (value.getBytes(StandardCharsets.UTF_8).length > maxBytes) {
+            throw new IllegalArgumentException(field + " too long for binary format (max "
+                    + maxBytes + " bytes): " + value);
+        }
+    }
+
+    // Map an existing file; no records are decoded until they are read
+    public static PatientRecordFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE) {
+                throw new IOException("Not a patient record file: " + file);
+            }
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Patient record file too large to map: " + file);
+            }
+
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (in.getInt(0) != MAGIC) {
+                throw new IOException("Not a patient record file: " + file);
+            }
+            if (in.getShort(4) != VERSION) {
+                throw new IOException("Unsupported patient record file version: " + in.getShort(4));
+            }
+            int count = in.getInt(8);
+            if (in.getInt(12) != RECORD_SIZE || HEADER_SIZE + (long) count * RECORD_SIZE > length) {
+                throw new IOException("Truncated or corrupt patient record file: " + file);
+            }
+            return new PatientRecordFile(in, count);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Decode the record at the given position (0-based, in patient ID order)
+    public Patient get(int index) throws InvalidMedicalDataException {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Record " + index + " out of range [0, " + count + ")");
+        }
+        int offset = HEADER_SIZE + index * RECORD_SIZE;
+        int bloodType = buffer.get(offset + BLOOD_TYPE_OFFSET);
+        if (bloodType < 0 || bloodType >= BLOOD_TYPES.length) {
+            throw new InvalidMedicalDataException("Invalid blood type code in record " + index + ": " + bloodType);
+        }
+        return new Patient(
+                readString(index, ID_OFFSET, ID_BYTES, "patient ID"),
+                readString(index, NAME_OFFSET, NAME_BYTES, "name"),
+                buffer.getInt(offset + AGE_OFFSET),
+                buffer.getDouble(offset + TEMPERATURE_OFFSET),
+                BLOOD_TYPES[bloodType].getLabel());
+    }
+
+    // Binary search the records for a patient ID, decoding only the IDs along the way
+    public Optional<Patient> find(String patientId) throws InvalidMedicalDataException {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = readString(mid, ID_OFFSET, ID_BYTES, "patient ID").compareTo(patientId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return Optional.of(get(mid));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Lazily decode every record in ID order
+    public Stream<Patient> stream() {
+        return IntStream.range(0, count).mapToObj(index -> {
+            try {
+                return get(index);
+            } catch (InvalidMedicalDataException e) {
+                throw new IllegalStateException("Corrupt record " + index + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    static void writeRecord(ByteBuffer out, int offset, Patient patient) {
+        BloodType bloodType = BloodType.fromLabel(patient.getBloodType());
+        writeString(out, offset + ID_OFFSET, patient.getPatientId(), ID_BYTES, "Patient ID");
+        writeString(out, offset + NAME_OFFSET, patient.getName(), NAME_BYTES, "Patient name");
+        out.putInt(offset + AGE_OFFSET, patient.getAge());
+        out.putDouble(offset + TEMPERATURE_OFFSET, patient.getTemperature());
+        out.put(offset + BLOOD_TYPE_OFFSET, (byte) bloodType.ordinal());
+    }
+
+    private static void writeString(ByteBuffer out, int offset, String value, int maxBytes, String field) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException(field + " too long for binary format (max "
+                    + maxBytes + " bytes): " + value);
+        }
+        out.putShort(offset, (short) bytes.length);
+        out.put(offset + 2, bytes);
+    }
+
+    private String readString(int index, int fieldOffset, int maxBytes, String field)
+            throws InvalidMedicalDataException {
+        int offset = HEADER_SIZE + index * RECORD_SIZE + fieldOffset;
+        String value = readString(buffer, offset, maxBytes);
+        if (value == null) {
+            throw new InvalidMedicalDataException("Invalid " + field + " length in record " + index
+                    + ": " + buffer.getShort(offset));
+        }
+        return value;
+    }
+
+    // String field of at most maxBytes; null if the stored length is out of range,
+    // as in a corrupt or truncated record
+    static String readString(ByteBuffer buffer, int offset, int maxBytes) {
+        int length = buffer.getShort(offset);
+        if (length < 0 || length > maxBytes) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
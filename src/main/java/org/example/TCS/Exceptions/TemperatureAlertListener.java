@@ -0,0 +1,11 @@
+package org.example.TCS.Exceptions;
+
+// Notified when a patient's temperature crosses a monitoring threshold.
+// Called on the thread that recorded the reading, so it should return quickly.
+interface TemperatureAlertListener {
+
+    enum Kind { FEVER, HYPOTHERMIA, NORMAL }
+
+    // NORMAL means a reading back inside the thresholds after a FEVER or HYPOTHERMIA alert
+    void temperatureAlert(Patient patient, Kind kind, long timeMillis, double temperature);
+}
@@ -0,0 +1,145 @@
+package org.example.TCS.Exceptions;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live temperature readings per patient, per blood type and per ward.
+//
+// Each patient, blood type and ward gets its own TemperatureWindow, so sliding-window
+// mean / min / max are O(1) to read at any level. Windows are created on a patient's
+// first reading. A patient window keeps at most capacity readings. Blood type and ward
+// windows start at that size and grow with the readings inside windowMillis, up to
+// GROUP_MAX_READINGS; beyond that a group's statistics cover only its latest
+// GROUP_MAX_READINGS readings rather than the whole time span. Alerts are
+// edge-triggered: listeners hear when a patient goes above the fever threshold or
+// below the hypothermia threshold, and when they come back, not on every reading.
+// A reading older than the patient's latest one is dropped and counted in
+// getLateReadings(); group windows tolerate readings from different patients
+// arriving slightly out of order.
+class TemperatureMonitor {
+    // Hard cap on a blood type or ward window, about 32 MB of buffers at most
+    static final int GROUP_MAX_READINGS = 1 << 20;
+
+    private final long windowMillis;
+    private final int capacity;
+    private final double feverThreshold;
+    private final double hypothermiaThreshold;
+
+    private final Map<String, Series> byPatient = new ConcurrentHashMap<>();
+    private final Map<BloodType, TemperatureWindow> byBloodType = new EnumMap<>(BloodType.class);
+    private final Map<String, TemperatureWindow> byWard = new ConcurrentHashMap<>();
+    private final Map<String, String> wardOfPatient = new ConcurrentHashMap<>();
+    private final List<TemperatureAlertListener> listeners = new CopyOnWriteArrayList<>();
+    private final LongAdder lateReadings = new LongAdder();
+
+    // One patient's window plus their alert state
+    private static final class Series {
+        final Patient patient;
+        final TemperatureWindow window;
+        final TemperatureWindow bloodTypeWindow;
+        TemperatureAlertListener.Kind state = TemperatureAlertListener.Kind.NORMAL;
+
+        Series(Patient patient, TemperatureWindow window, TemperatureWindow bloodTypeWindow) {
+            this.patient = patient;
+            this.window = window;
+            this.bloodTypeWindow = bloodTypeWindow;
+        }
+    }
+
+    // capacity bounds the readings kept per patient
+    public TemperatureMonitor(long windowMillis, int capacity,
+                              double feverThreshold, double hypothermiaThreshold) {
+        if (hypothermiaThreshold >= feverThreshold) {
+            throw new IllegalArgumentException("Hypothermia threshold must be below the fever threshold");
+        }
+        this.windowMillis = windowMillis;
+        this.capacity = capacity;
+        this.feverThreshold = feverThreshold;
+        this.hypothermiaThreshold = hypothermiaThreshold;
+        for (BloodType type : BloodType.values()) {
+            byBloodType.put(type, newGroupWindow());
+        }
+    }
+
+    public void addAlertListener(TemperatureAlertListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    public void removeAlertListener(TemperatureAlertListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Put a patient in a ward; affects readings recorded from now on
+    public void assignWard(String patientId, String ward) {
+        byWard.computeIfAbsent(ward, w -> newGroupWindow());
+        wardOfPatient.put(patientId, ward);
+    }
+
+    public void record(Patient patient, long timeMillis, double temperature) {
+        Series series = byPatient.get(patient.getPatientId());
+        if (series == null) {
+            series = byPatient.computeIfAbsent(patient.getPatientId(), id -> new Series(patient,
+                    new TemperatureWindow(windowMillis, capacity),
+                    byBloodType.get(BloodType.fromLabel(patient.getBloodType()))));
+        }
+        if (!series.window.recordIfInOrder(timeMillis, temperature)) {
+            // One late reading from one device must not fail the caller
+            lateReadings.increment();
+            return;
+        }
+        series.bloodTypeWindow.recordMerged(timeMillis, temperature);
+        String ward = wardOfPatient.get(patient.getPatientId());
+        if (ward != null) {
+            byWard.get(ward).recordMerged(timeMillis, temperature);
+        }
+        checkThresholds(series, timeMillis, temperature);
+    }
+
+    // Readings dropped because they were older than the patient's latest reading
+    public long getLateReadings() {
+        return lateReadings.sum();
+    }
+
+    // Window for one patient; null before their first reading
+    public TemperatureWindow patientWindow(String patientId) {
+        Series series = byPatient.get(patientId);
+        return series == null ? null : series.window;
+    }
+
+    // Null for an unknown blood type
+    public TemperatureWindow bloodTypeWindow(String bloodType) {
+        BloodType type = BloodType.fromLabel(bloodType);
+        return type == null ? null : byBloodType.get(type);
+    }
+
+    // Null for a ward no patient was assigned to
+    public TemperatureWindow wardWindow(String ward) {
+        return byWard.get(ward);
+    }
+
+    private void checkThresholds(Series series, long timeMillis, double temperature) {
+        TemperatureAlertListener.Kind kind;
+        if (temperature >= feverThreshold) {
+            kind = TemperatureAlertListener.Kind.FEVER;
+        } else if (temperature <= hypothermiaThreshold) {
+            kind = TemperatureAlertListener.Kind.HYPOTHERMIA;
+        } else {
+            kind = TemperatureAlertListener.Kind.NORMAL;
+        }
+        synchronized (series) {
+            if (kind == series.state) {
+                return;
+            }
+            series.state = kind;
+        }
+        for (TemperatureAlertListener listener : listeners) {
+            listener.temperatureAlert(series.patient, kind, timeMillis, temperature);
+        }
+    }
+
+    private TemperatureWindow newGroupWindow() {
+        return new TemperatureWindow(windowMillis, Math.min(capacity, GROUP_MAX_READINGS), GROUP_MAX_READINGS);
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.TCS.Exceptions;
+
+// Sliding time window over temperature readings, in primitive ring buffers.
+//
+// Readings older than windowMillis before the newest timestamp are evicted. A full
+// buffer doubles until it reaches maxCapacity; after that the oldest reading is evicted,
+// so a window covers its time span only while it holds at most maxCapacity readings.
+// The mean comes from a running sum; min and max come from monotonic deques of reading
+// sequence numbers, so every statistic is O(1) and recording is amortized O(1).
+// Nothing is allocated except when the buffer grows. Timestamps must not go backwards.
+// Methods are synchronized; one window can be fed and read from different threads.
+class TemperatureWindow {
+    private final long windowMillis;
+    private final int maxCapacity;
+    private int capacity;
+
+    // Readings, indexed by sequence number modulo capacity
+    private long[] times;
+    private double[] values;
+    private long head;  // oldest live sequence number
+    private long tail;  // next sequence number
+
+    // Sequence numbers of min / max candidates, oldest first
+    private long[] minQueue;
+    private long[] maxQueue;
+    private long minHead, minTail, maxHead, maxTail;
+
+    private double sum;
+    private long latestTime = Long.MIN_VALUE;
+
+    // Fixed-size window of at most capacity readings
+    public TemperatureWindow(long windowMillis, int capacity) {
+        this(windowMillis, capacity, capacity);
+    }
+
+    // Window that starts with room for initialCapacity readings and grows up to maxCapacity
+    public TemperatureWindow(long windowMillis, int initialCapacity, int maxCapacity) {
+        if (windowMillis <= 0 || initialCapacity < 1 || maxCapacity < initialCapacity) {
+            throw new IllegalArgumentException("Window length and capacity must be positive");
+        }
+        this.windowMillis = windowMillis;
+        this.maxCapacity = maxCapacity;
+        this.capacity = initialCapacity;
+        this.times = new long[initialCapacity];
+        this.values = new double[initialCapacity];
+        this.minQueue = new long[initialCapacity];
+        this.maxQueue = new long[initialCapacity];
+    }
+
+    public synchronized void record(long timeMillis, double value) {
+        if (!recordIfInOrder(timeMillis, value)) {
+            throw new IllegalArgumentException("Reading at " + timeMillis
+                    + " is older than the latest reading at " + latestTime);
+        }
+    }
+
+    // Record a reading unless it is older than the latest one; returns false if it was dropped
+    synchronized boolean recordIfInOrder(long timeMillis, double value) {
+        if (timeMillis < latestTime) {
+            return false;
+        }
+        latestTime = timeMillis;
+        evictBefore(timeMillis - windowMillis);
+        if (tail - head == capacity) {
+            if (capacity < maxCapacity) {
+                grow();
+            } else {
+                evictOldest();
+            }
+        }
+
+        int slot = slot(tail);
+        times[slot] = timeMillis;
+        values[slot] = value;
+        sum += value;
+
+        while (minTail > minHead && values[slot(minQueue[slot(minTail - 1)])] >= value) {
+            minTail--;
+        }
+        minQueue[slot(minTail++)] = tail;
+        while (maxTail > maxHead && values[slot(maxQueue[slot(maxTail - 1)])] <= value) {
+            maxTail--;
+        }
+        maxQueue[slot(maxTail++)] = tail;
+        tail++;
+        return true;
+    }
+
+    // Record a reading from a merged feed, where small reordering between sources is
+    // expected: a reading older than the latest one counts as taken at the latest time
+    synchronized void recordMerged(long timeMillis, double value) {
+        record(Math.max(timeMillis, latestTime), value);
+    }
+
+    // Drop readings that fall out of the window as of the given time
+    public synchronized void advanceTo(long nowMillis) {
+        evictBefore(nowMillis - windowMillis);
+    }
+
+    public synchronized int count() {
+        return (int) (tail - head);
+    }
+
+    // NaN when the window is empty
+    public synchronized double mean() {
+        return tail == head ? Double.NaN : sum / (tail - head);
+    }
+
+    public synchronized double min() {
+        return tail == head ? Double.NaN : values[slot(minQueue[slot(minHead)])];
+    }
+
+    public synchronized double max() {
+        return tail == head ? Double.NaN : values[slot(maxQueue[slot(maxHead)])];
+    }
+
+    // NaN when the window is empty
+    public synchronized double latest() {
+        return tail == head ? Double.NaN : values[slot(tail - 1)];
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    private void evictBefore(long cutoff) {
+        while (tail > head && times[slot(head)] < cutoff) {
+            evictOldest();
+        }
+    }
+
+    // Double the buffers, keeping every reading and deque entry at its sequence's new slot
+    private void grow() {
+        int newCapacity = (int) Math.min(maxCapacity, 2L * capacity);
+        long[] newTimes = new long[newCapacity];
+        double[] newValues = new double[newCapacity];
+        long[] newMinQueue = new long[newCapacity];
+        long[] newMaxQueue = new long[newCapacity];
+        for (long sequence = head; sequence < tail; sequence++) {
+            newTimes[(int) (sequence % newCapacity)] = times[slot(sequence)];
+            newValues[(int) (sequence % newCapacity)] = values[slot(sequence)];
+        }
+        for (long i = minHead; i < minTail; i++) {
+            newMinQueue[(int) (i % newCapacity)] = minQueue[slot(i)];
+        }
+        for (long i = maxHead; i < maxTail; i++) {
+            newMaxQueue[(int) (i % newCapacity)] = maxQueue[slot(i)];
+        }
+        times = newTimes;
+        values = newValues;
+        minQueue = newMinQueue;
+        maxQueue = newMaxQueue;
+        capacity = newCapacity;
+    }
+
+    private void evictOldest() {
+        sum -= values[slot(head)];
+        if (minQueue[slot(minHead)] == head) {
+            minHead++;
+        }
+        if (maxQueue[slot(maxHead)] == head) {
+            maxHead++;
+        }
+        head++;
+        if (head == tail) {
+            // Reset so rounding error in the running sum cannot build up forever
+            sum = 0;
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.TCS;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Objects;
+
+// Immutable counterpart of Employee for collection-heavy and parallel code.
+// All fields are final, so instances can be shared freely between threads. The hash
+// (keyed on empId, like Employee) is computed once at construction, the categorical
+// fields are interned through EmployeeCategories.shared(), and toString is built by
+// hand instead of through String.format.
+final class ImmutableEmployee {
+    private final int id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String gender;
+    private final String jobTitle;
+    private final String university;
+    private final String empId;
+    private final double salary;
+    private final int hash;
+
+    public ImmutableEmployee(int id, String firstName, String lastName, String email,
+                             String gender, String jobTitle, String university, String empId, double salary) {
+        EmployeeCategories categories = EmployeeCategories.shared();
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.gender = categories.dictionary(EmployeeTable.Category.GENDER).intern(gender);
+        this.jobTitle = categories.dictionary(EmployeeTable.Category.JOB_TITLE).intern(jobTitle);
+        this.university = categories.dictionary(EmployeeTable.Category.UNIVERSITY).intern(university);
+        this.empId = empId;
+        this.salary = salary;
+        this.hash = Objects.hashCode(empId);
+    }
+
+    public static ImmutableEmployee of(Employee employee) {
+        return new ImmutableEmployee(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getGender(), employee.getJobTitle(),
+                employee.getUniversity(), employee.getEmpId(), employee.getSalary());
+    }
+
+    // Mutable copy
+    public Employee toEmployee() {
+        return new Employee(id, firstName, lastName, email, gender, jobTitle, university, empId, salary);
+    }
+
+    // Getters, named like Employee's so method references carry over
+    public int getId() { return id; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getEmail() { return email; }
+    public String getGender() { return gender; }
+    public String getJobTitle() { return jobTitle; }
+    public String getUniversity() { return university; }
+    public String getEmpId() { return empId; }
+    public double getSalary() { return salary; }
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    // Copy with a different salary
+    public ImmutableEmployee withSalary(double newSalary) {
+        return new ImmutableEmployee(id, firstName, lastName, email, gender, jobTitle, university, empId, newSalary);
+    }
+
+    // Same text as Employee.toString, with the salary always using '.' as decimal separator
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("Employee{id=").append(id)
+                .append(", name='").append(firstName).append(' ').append(lastName)
+                .append("', email='").append(email)
+                .append("', gender='").append(gender)
+                .append("', jobTitle='").append(jobTitle)
+                .append("', university='").append(university)
+                .append("', empId='").append(empId)
+                .append("', salary=");
+        appendTwoDecimals(sb, salary);
+        return sb.append('}').toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ImmutableEmployee other = (ImmutableEmployee) obj;
+        return hash == other.hash && Objects.equals(empId, other.empId);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static void appendTwoDecimals(StringBuilder sb, double value) {
+        if (!Double.isFinite(value)) {
+            sb.append(String.format(Locale.ROOT, "%.2f", value));
+            return;
+        }
+        // %.2f rounds the shortest decimal form of the double HALF_UP (1.005 -> 1.01),
+        // which BigDecimal.valueOf reproduces; scaling by 100 and Math.round does not
+        BigDecimal rounded = BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+        if (rounded.signum() == 0 && Math.copySign(1.0, value) < 0) {
+            sb.append('-');  // %.2f keeps the sign of values that round to zero
+        }
+        sb.append(rounded.toPlainString());
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.TCS;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Log-bucketed latency histogram in the style of HdrHistogram, for nanosecond values.
+//
+// Values below 8 get a bucket each; above that, every power of two is split into 8
+// equal sub-buckets, so a bucket's width is at most 1/8 of its lower bound (about 12%
+// relative error) over the whole range of a long. The sum is a LongAdder and the
+// count is the sum of the buckets.
+//
+// The 488 buckets are striped: one set per stripe in a single AtomicLongArray, with the
+// stripe picked from the recording thread's id and the stripe count the next power of
+// two of the processor count (at most 16). Threads recording into one histogram from a
+// pool mostly increment different cache lines instead of contending on the same
+// counter; snapshot() adds the stripes up. Recording is a few shifts and two atomic
+// adds with no allocation or locking, about 20ns measured on one thread; the contended
+// cost depends on the machine and has not been measured here. Reading
+// System.nanoTime() for a timing costs about as much again.
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final int STRIPES = Math.min(16, Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(STRIPES * BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Record one value; negative values count as 0
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        buckets.incrementAndGet(stripe * BUCKETS + bucketOf(value));
+        sum.add(value);
+        // Plain read first, so the CAS only runs on a new maximum
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    // Record the time elapsed since a System.nanoTime() reading
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < STRIPES * BUCKETS; i++) {
+            long bucketCount = buckets.get(i);
+            counts[i % BUCKETS] += bucketCount;
+            count += bucketCount;
+        }
+        return new Snapshot(name, counts, count, sum.sum(), max.get());
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // Smallest value in a bucket
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    // Largest value in a bucket
+    static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(bucket + 1) - 1;
+    }
+
+    // Point-in-time copy of a histogram. Counts are read bucket by bucket while
+    // recording goes on, so a snapshot may be off by the events of that instant.
+    public static final class Snapshot {
+        private final String name;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(String name, long[] counts, long count, long sum, long max) {
+            this.name = name;
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public long getSum() { return sum; }
+
+        // Largest value ever recorded (not limited to the interval of a difference)
+        public long getMax() { return max; }
+
+        public double getMean() {
+            return count == 0 ? Double.NaN : (double) sum / count;
+        }
+
+        // Upper bound of the bucket holding the given percentile (0-100), capped at max
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) {
+                    return Math.min(upperBound(bucket), max);
+                }
+            }
+            return max;
+        }
+
+        // Events recorded between an earlier snapshot of the same histogram and this one
+        public Snapshot since(Snapshot earlier) {
+            long[] delta = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                delta[i] = counts[i] - earlier.counts[i];
+            }
+            return new Snapshot(name, delta, count - earlier.count, sum - earlier.sum, max);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s count=%d mean=%.0fns p50=%dns p90=%dns p99=%dns p999=%dns max=%dns",
+                    name, count, count == 0 ? 0.0 : getMean(), percentile(50), percentile(90),
+                    percentile(99), percentile(99.9), max);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Dependency-free registry of latency histograms and counters.
+//
+//   private static final LatencyHistogram FIND = Metrics.global().timer("hospital.findPatient");
+//   ...
+//   long start = System.nanoTime();
+//   try { ... } finally { FIND.recordSince(start); }
+//
+// Look instruments up once and keep them in static fields; the hot path is then only
+// System.nanoTime() and LatencyHistogram.record. Counters are LongAdders, suited to
+// counting elements per pipeline stage from parallel streams. snapshot() copies every
+// instrument, and Snapshot.since compares two snapshots to find regressions over an
+// interval.
+public final class Metrics {
+    private static final Metrics GLOBAL = new Metrics();
+
+    private final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public static Metrics global() {
+        return GLOBAL;
+    }
+
+    public LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    // Stream stage counter: stream.peek(metrics.stage("report.filtered"))
+    public <T> Consumer<T> stage(String name) {
+        LongAdder counter = counter(name);
+        return element -> counter.increment();
+    }
+
+    public Snapshot snapshot() {
+        Map<String, LatencyHistogram.Snapshot> timerSnapshots = new TreeMap<>();
+        timers.forEach((name, timer) -> timerSnapshots.put(name, timer.snapshot()));
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        return new Snapshot(timerSnapshots, counterValues);
+    }
+
+    public static final class Snapshot {
+        private final Map<String, LatencyHistogram.Snapshot> timers;
+        private final Map<String, Long> counters;
+
+        Snapshot(Map<String, LatencyHistogram.Snapshot> timers, Map<String, Long> counters) {
+            this.timers = Collections.unmodifiableMap(timers);
+            this.counters = Collections.unmodifiableMap(counters);
+        }
+
+        public Map<String, LatencyHistogram.Snapshot> getTimers() { return timers; }
+        public Map<String, Long> getCounters() { return counters; }
+
+        // Activity between an earlier snapshot and this one; instruments created in
+        // between count from zero
+        public Snapshot since(Snapshot earlier) {
+            Map<String, LatencyHistogram.Snapshot> timerDeltas = new TreeMap<>();
+            timers.forEach((name, timer) -> {
+                LatencyHistogram.Snapshot before = earlier.timers.get(name);
+                timerDeltas.put(name, before == null ? timer : timer.since(before));
+            });
+            Map<String, Long> counterDeltas = new TreeMap<>();
+            counters.forEach((name, value) -> counterDeltas.put(name, value - earlier.counters.getOrDefault(name, 0L)));
+            return new Snapshot(timerDeltas, counterDeltas);
+        }
+
+        // One line per instrument, sorted by name
+        public String export() {
+            StringBuilder sb = new StringBuilder();
+            for (LatencyHistogram.Snapshot timer : timers.values()) {
+                sb.append("timer ").append(timer).append('\n');
+            }
+            counters.forEach((name, value) -> sb.append("counter ").append(name).append(' ').append(value).append('\n'));
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return export();
+        }
+    }
+}
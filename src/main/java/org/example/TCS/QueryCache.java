@@ -0,0 +1,129 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Cache of aggregate query results over an EmployeeRoster.
+//
+//   Map<String, Double> avg = cache.get(roster, "avgSalaryByGender", employees -> employees.stream()
+//           .collect(Collectors.groupingBy(Employee::getGender, Collectors.averagingDouble(Employee::getSalary))));
+//
+// Entries are keyed by roster and query key (any value with equals/hashCode, e.g. a
+// name or a query object) and remember the roster version they were computed at. A
+// hit is only served if the roster version is unchanged, so results are never stale.
+// Entries are also evicted least-recently-used beyond maxEntries and after the time
+// to live. Cached results are shared between callers and must not be modified.
+class QueryCache {
+
+    private static final class Key {
+        private final EmployeeRoster roster;
+        private final Object query;
+
+        Key(EmployeeRoster roster, Object query) {
+            this.roster = roster;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return roster == other.roster && query.equals(other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(roster) + query.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long version;
+        final long createdNanos;
+
+        Entry(Object value, long version, long createdNanos) {
+            this.value = value;
+            this.version = version;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Key, Entry> entries;
+    private long hits;
+    private long misses;
+
+    // ttlMillis <= 0 means entries never expire by age
+    public QueryCache(int maxEntries, long ttlMillis) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        // toNanos saturates at Long.MAX_VALUE instead of overflowing for huge TTLs
+        this.ttlNanos = ttlMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(ttlMillis) : Long.MAX_VALUE;
+        // Access order turns the map into an LRU list
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > QueryCache.this.maxEntries;
+            }
+        };
+    }
+
+    // Cached result of the query, recomputed if missing, expired or out of date.
+    // The computation runs outside the cache lock.
+    @SuppressWarnings("unchecked")
+    public <R> R get(EmployeeRoster roster, Object queryKey, Function<List<Employee>, R> query) {
+        Key key = new Key(roster, Objects.requireNonNull(queryKey, "queryKey"));
+        long version = roster.version();
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version == version && now - entry.createdNanos < ttlNanos) {
+                hits++;
+                return (R) entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+        }
+
+        R value = query.apply(roster.employees());
+        synchronized (this) {
+            // A slow computation finishing late must not replace a result computed at a
+            // newer roster version (or more recently at the same one)
+            Entry current = entries.get(key);
+            if (current == null || current.version < version
+                    || (current.version == version && now - current.createdNanos > 0)) {
+                entries.put(key, new Entry(value, version, now));
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(EmployeeRoster roster, Object queryKey) {
+        entries.remove(new Key(roster, queryKey));
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
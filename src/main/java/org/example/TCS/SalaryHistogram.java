@@ -0,0 +1,170 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.stream.DoubleStream;
+
+// Salary band counts, kept up to date as employees are added, removed or re-paid.
+//
+// Band edges are ascending salaries; n edges make n + 1 bands:
+//   (-inf, e0), [e0, e1), ..., [e(n-1), +inf)
+// A salary's band is found by binary search over the edges and counted in a long[].
+// While open, the histogram listens to Employee.setSalary and moves tracked employees
+// between bands, so reading the counts never rescans the roster. Employees are tracked
+// by identity, together with the band they are currently counted in: a salary event is
+// applied as a move from that band to the band of the new salary, so an event that
+// arrives after add() already saw the new salary moves nothing.
+//
+// Close the histogram to stop listening; it then forgets its employees and rejects
+// add and remove. One that is simply dropped stops listening once it is garbage
+// collected. While any histogram is open, every Employee.setSalary in the process
+// takes that histogram's lock.
+class SalaryHistogram implements EmployeeChangeListener, AutoCloseable {
+
+    private final double[] edges;
+    private final String[] labels;
+    private final long[] counts;
+    private final Map<Employee, Integer> tracked = new IdentityHashMap<>();  // employee -> band
+    private boolean closed;
+
+    public SalaryHistogram(double... edges) {
+        this.edges = checkEdges(edges);
+        this.labels = labelsFor(this.edges);
+        this.counts = new long[this.edges.length + 1];
+        Employee.addChangeListener(this);
+    }
+
+    public synchronized void add(Employee employee) {
+        ensureOpen();
+        if (!tracked.containsKey(employee)) {
+            int band = bandOf(employee.getSalary());
+            tracked.put(employee, band);
+            counts[band]++;
+        }
+    }
+
+    public synchronized void addAll(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            add(employee);
+        }
+    }
+
+    public synchronized void remove(Employee employee) {
+        ensureOpen();
+        Integer band = tracked.remove(employee);
+        if (band != null) {
+            counts[band]--;
+        }
+    }
+
+    public int bands() {
+        return counts.length;
+    }
+
+    public synchronized long count(int band) {
+        return counts[band];
+    }
+
+    public synchronized long[] counts() {
+        return counts.clone();
+    }
+
+    public synchronized long total() {
+        return tracked.size();
+    }
+
+    public String label(int band) {
+        return labels[band];
+    }
+
+    // Band label -> count, in band order
+    public synchronized Map<String, Long> toMap() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int band = 0; band < counts.length; band++) {
+            result.put(labels[band], counts[band]);
+        }
+        return result;
+    }
+
+    public int bandOf(double salary) {
+        return bandOf(edges, salary);
+    }
+
+    @Override
+    public synchronized void salaryChanged(Employee employee, double oldSalary, double newSalary) {
+        Integer from = tracked.get(employee);
+        if (from != null) {
+            int to = bandOf(newSalary);
+            counts[from]--;
+            counts[to]++;
+            tracked.put(employee, to);
+        }
+    }
+
+    @Override
+    public void propertyChanged(Employee employee, String property, Object oldValue, Object newValue) {
+        // Only salary changes move employees between bands
+    }
+
+    @Override
+    public void close() {
+        Employee.removeChangeListener(this);
+        synchronized (this) {
+            closed = true;
+            tracked.clear();
+            Arrays.fill(counts, 0);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Salary histogram is closed");
+        }
+    }
+
+    // One-off band counts for a column of salaries, without tracking
+    public static long[] countBands(double[] edges, DoubleStream salaries) {
+        double[] checked = checkEdges(edges);
+        long[] result = new long[checked.length + 1];
+        salaries.forEach(salary -> result[bandOf(checked, salary)]++);
+        return result;
+    }
+
+    static int bandOf(double[] edges, double salary) {
+        int index = Arrays.binarySearch(edges, salary);
+        // An exact hit on edge i starts band i + 1; otherwise the insertion point is the band
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    // "Below 60k", "60k-80k", ..., "Above 100k"
+    static String[] labelsFor(double[] edges) {
+        String[] labels = new String[edges.length + 1];
+        if (edges.length == 0) {
+            labels[0] = "All";
+            return labels;
+        }
+        labels[0] = "Below " + amount(edges[0]);
+        for (int i = 1; i < edges.length; i++) {
+            labels[i] = amount(edges[i - 1]) + "-" + amount(edges[i]);
+        }
+        labels[edges.length] = "Above " + amount(edges[edges.length - 1]);
+        return labels;
+    }
+
+    private static String amount(double value) {
+        if (value % 1000 == 0) {
+            return (long) (value / 1000) + "k";
+        }
+        return String.valueOf(value);
+    }
+
+    private static double[] checkEdges(double[] edges) {
+        double[] copy = edges.clone();
+        for (int i = 0; i < copy.length; i++) {
+            if (Double.isNaN(copy[i]) || (i > 0 && copy[i] <= copy[i - 1])) {
+                throw new IllegalArgumentException("Band edges must be strictly ascending: "
+                        + Arrays.toString(edges));
+            }
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+// Report made of several named aggregates that are all computed in one pass.
+//
+//   StreamReport<Employee> report = StreamReport.<Employee>builder()
+//           .statistics("salary", Employee::getSalary)
+//           .averageBy("avgSalaryByGender", Employee::getGender, Employee::getSalary)
+//           .countBy("countByJobTitle", Employee::getJobTitle)
+//           .build();
+//   StreamReport.Result result = report.run(employees.stream());
+//
+// Each element is handed to every aggregate in turn, so the cost is one traversal no
+// matter how many metrics are declared. Every aggregate has a combiner, so the fused
+// collector also works on parallel streams.
+final class StreamReport<T> {
+    private static final LatencyHistogram RUN_TIMER = Metrics.global().timer("report.run");
+
+    private final List<String> names;
+    private final List<Collector<T, Object, Object>> collectors;
+
+    private StreamReport(List<String> names, List<Collector<T, Object, Object>> collectors) {
+        this.names = names;
+        this.collectors = collectors;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public Result run(Stream<? extends T> stream) {
+        long start = System.nanoTime();
+        try {
+            return stream.collect(collector());
+        } finally {
+            RUN_TIMER.recordSince(start);
+        }
+    }
+
+    // The fused collector: one accumulator slot per declared aggregate (arrays created raw)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Collector<T, Object[], Result> collector() {
+        int count = collectors.size();
+        Supplier<Object>[] suppliers = new Supplier[count];
+        BiConsumer<Object, T>[] accumulators = new BiConsumer[count];
+        BinaryOperator<Object>[] combiners = new BinaryOperator[count];
+        Function<Object, Object>[] finishers = new Function[count];
+        for (int i = 0; i < count; i++) {
+            Collector<T, Object, Object> collector = collectors.get(i);
+            suppliers[i] = collector.supplier();
+            accumulators[i] = collector.accumulator();
+            combiners[i] = collector.combiner();
+            finishers[i] = collector.finisher();
+        }
+
+        return Collector.of(
+                () -> {
+                    Object[] containers = new Object[count];
+                    for (int i = 0; i < count; i++) {
+                        containers[i] = suppliers[i].get();
+                    }
+                    return containers;
+                },
+                (containers, element) -> {
+                    for (int i = 0; i < count; i++) {
+                        accumulators[i].accept(containers[i], element);
+                    }
+                },
+                (left, right) -> {
+                    for (int i = 0; i < count; i++) {
+                        left[i] = combiners[i].apply(left[i], right[i]);
+                    }
+                    return left;
+                },
+                containers -> {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        values.put(names.get(i), finishers[i].apply(containers[i]));
+                    }
+                    return new Result(values);
+                });
+    }
+
+    public static final class Builder<T> {
+        private final List<String> names = new ArrayList<>();
+        private final List<Collector<T, Object, Object>> collectors = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        // Count, sum, min, average and max of a numeric field
+        public Builder<T> statistics(String name, ToDoubleFunction<? super T> field) {
+            return add(name, Collector.<T, DoubleSummaryStatistics>of(
+                    DoubleSummaryStatistics::new,
+                    (stats, element) -> stats.accept(field.applyAsDouble(element)),
+                    (left, right) -> {
+                        left.combine(right);
+                        return left;
+                    }));
+        }
+
+        // Number of elements per key
+        public <K> Builder<T> countBy(String name, Function<? super T, ? extends K> key) {
+            return add(name, Collector.<T, Map<K, long[]>, Map<K, Long>>of(
+                    HashMap::new,
+                    (counts, element) -> counts.computeIfAbsent(key.apply(element), k -> new long[1])[0]++,
+                    (left, right) -> {
+                        right.forEach((k, count) -> left.merge(k, count, (a, b) -> {
+                            a[0] += b[0];
+                            return a;
+                        }));
+                        return left;
+                    },
+                    counts -> {
+                        Map<K, Long> result = new HashMap<>();
+                        counts.forEach((k, count) -> result.put(k, count[0]));
+                        return result;
+                    }));
+        }
+
+        // Average of a numeric field per key
+        public <K> Builder<T> averageBy(String name, Function<? super T, ? extends K> key,
+                                        ToDoubleFunction<? super T> field) {
+            return add(name, Collector.<T, Map<K, double[]>, Map<K, Double>>of(
+                    HashMap::new,
+                    (sums, element) -> {
+                        double[] sum = sums.computeIfAbsent(key.apply(element), k -> new double[2]);
+                        sum[0] += field.applyAsDouble(element);
+                        sum[1]++;
+                    },
+                    (left, right) -> {
+                        right.forEach((k, sum) -> left.merge(k, sum, (a, b) -> {
+                            a[0] += b[0];
+                            a[1] += b[1];
+                            return a;
+                        }));
+                        return left;
+                    },
+                    sums -> {
+                        Map<K, Double> result = new HashMap<>();
+                        sums.forEach((k, sum) -> result.put(k, sum[0] / sum[1]));
+                        return result;
+                    }));
+        }
+
+        // Full statistics of a numeric field per key
+        public <K> Builder<T> statisticsBy(String name, Function<? super T, ? extends K> key,
+                                           ToDoubleFunction<? super T> field) {
+            return add(name, Collector.<T, Map<K, DoubleSummaryStatistics>>of(
+                    HashMap::new,
+                    (stats, element) -> stats.computeIfAbsent(key.apply(element), k -> new DoubleSummaryStatistics())
+                            .accept(field.applyAsDouble(element)),
+                    (left, right) -> {
+                        right.forEach((k, stats) -> left.merge(k, stats, (a, b) -> {
+                            a.combine(b);
+                            return a;
+                        }));
+                        return left;
+                    }));
+        }
+
+        // Any other collector, e.g. TopN.topN(3, Employee::getSalary)
+        public <R> Builder<T> collect(String name, Collector<? super T, ?, R> collector) {
+            return add(name, collector);
+        }
+
+        public StreamReport<T> build() {
+            return new StreamReport<>(new ArrayList<>(names), new ArrayList<>(collectors));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Builder<T> add(String name, Collector<? super T, ?, ?> collector) {
+            Objects.requireNonNull(name, "name");
+            if (names.contains(name)) {
+                throw new IllegalArgumentException("Duplicate report metric: " + name);
+            }
+            names.add(name);
+            collectors.add((Collector<T, Object, Object>) collector);
+            return this;
+        }
+    }
+
+    // Values of a finished report, by metric name
+    public static final class Result {
+        private final Map<String, Object> values;
+
+        private Result(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <R> R get(String name) {
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown report metric: " + name);
+            }
+            return (R) values.get(name);
+        }
+
+        public DoubleSummaryStatistics statistics(String name) {
+            return get(name);
+        }
+
+        public <K> Map<K, Long> counts(String name) {
+            return get(name);
+        }
+
+        public <K> Map<K, Double> averages(String name) {
+            return get(name);
+        }
+
+        public Set<String> names() {
+            return Collections.unmodifiableSet(values.keySet());
+        }
+
+        @Override
+        public String toString() {
+            return "Report" + values;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.TCS;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+// Bounded top-N / bottom-N collectors.
+// Each accumulator is a fixed-size binary heap holding the k best elements seen so far,
+// with the worst of them at the root, so selecting k out of n costs O(n log k) time and
+// O(k) memory instead of sorting the whole stream. Accumulators merge heap into heap,
+// so the collectors work with parallel streams.
+//
+// Results come back best first. Among elements with equal keys, earlier ones are kept;
+// their relative order in the result is unspecified.
+final class TopN {
+
+    private TopN() {
+    }
+
+    // The n greatest elements according to the comparator, greatest first
+    public static <T> Collector<T, ?, List<T>> topN(int n, Comparator<? super T> comparator) {
+        checkSize(n);
+        Objects.requireNonNull(comparator, "comparator");
+        return Collector.of(
+                () -> new ObjectHeap<T>(n, comparator),
+                ObjectHeap::offer,
+                ObjectHeap::merge,
+                ObjectHeap::toList);
+    }
+
+    // The n smallest elements according to the comparator, smallest first
+    public static <T> Collector<T, ?, List<T>> bottomN(int n, Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return topN(n, comparator.reversed());
+    }
+
+    // The n elements with the greatest primitive key, greatest first; keys are never boxed
+    public static <T> Collector<T, ?, List<T>> topN(int n, ToDoubleFunction<? super T> key) {
+        checkSize(n);
+        Objects.requireNonNull(key, "key");
+        return Collector.of(
+                () -> new DoubleKeyHeap<T>(n, key, false),
+                DoubleKeyHeap::offer,
+                DoubleKeyHeap::merge,
+                DoubleKeyHeap::toList);
+    }
+
+    // The n elements with the smallest primitive key, smallest first
+    public static <T> Collector<T, ?, List<T>> bottomN(int n, ToDoubleFunction<? super T> key) {
+        checkSize(n);
+        Objects.requireNonNull(key, "key");
+        return Collector.of(
+                () -> new DoubleKeyHeap<T>(n, key, true),
+                DoubleKeyHeap::offer,
+                DoubleKeyHeap::merge,
+                DoubleKeyHeap::toList);
+    }
+
+    private static void checkSize(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative: " + n);
+        }
+    }
+
+    // Min-heap by comparator: the root is the worst element kept
+    private static final class ObjectHeap<T> {
+        private final Object[] items;
+        private final Comparator<? super T> comparator;
+        private int size;
+
+        ObjectHeap(int capacity, Comparator<? super T> comparator) {
+            this.items = new Object[capacity];
+            this.comparator = comparator;
+        }
+
+        void offer(T item) {
+            if (size < items.length) {
+                items[size] = item;
+                siftUp(size++);
+            } else if (size > 0 && comparator.compare(item, get(0)) > 0) {
+                items[0] = item;
+                siftDown(0);
+            }
+        }
+
+        ObjectHeap<T> merge(ObjectHeap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.get(i));
+            }
+            return this;
+        }
+
+        List<T> toList() {
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(get(i));
+            }
+            result.sort(comparator.reversed());
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T get(int index) {
+            return (T) items[index];
+        }
+
+        private void siftUp(int index) {
+            Object item = items[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (comparator.compare(get(parent), get(index)) <= 0) {
+                    break;
+                }
+                items[index] = items[parent];
+                items[parent] = item;
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            Object item = items[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && comparator.compare(get(child + 1), get(child)) < 0) {
+                    child++;
+                }
+                if (comparator.compare(get(index), get(child)) <= 0) {
+                    break;
+                }
+                items[index] = items[child];
+                items[child] = item;
+                index = child;
+            }
+        }
+    }
+
+    // Heap keyed by a primitive double held in a parallel array.
+    // For top-N the root holds the smallest key kept; for bottom-N the largest.
+    private static final class DoubleKeyHeap<T> {
+        private final Object[] items;
+        private final double[] keys;
+        private final ToDoubleFunction<? super T> keyFunction;
+        private final boolean bottom;
+        private int size;
+
+        DoubleKeyHeap(int capacity, ToDoubleFunction<? super T> keyFunction, boolean bottom) {
+            this.items = new Object[capacity];
+            this.keys = new double[capacity];
+            this.keyFunction = keyFunction;
+            this.bottom = bottom;
+        }
+
+        void offer(T item) {
+            offer(item, keyFunction.applyAsDouble(item));
+        }
+
+        private void offer(Object item, double key) {
+            if (size < items.length) {
+                items[size] = item;
+                keys[size] = key;
+                siftUp(size++);
+            } else if (size > 0 && better(key, keys[0])) {
+                items[0] = item;
+                keys[0] = key;
+                siftDown(0);
+            }
+        }
+
+        DoubleKeyHeap<T> merge(DoubleKeyHeap<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.items[i], other.keys[i]);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> toList() {
+            // Pop the root repeatedly: this yields worst first, so fill from the back
+            Object[] result = new Object[size];
+            while (size > 0) {
+                result[size - 1] = items[0];
+                size--;
+                items[0] = items[size];
+                keys[0] = keys[size];
+                items[size] = null;
+                siftDown(0);
+            }
+            return (List<T>) new ArrayList<>(Arrays.asList(result));
+        }
+
+        // Whether key a ranks strictly ahead of key b
+        private boolean better(double a, double b) {
+            int cmp = Double.compare(a, b);
+            return bottom ? cmp < 0 : cmp > 0;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(keys[parent], keys[index])) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && better(keys[child], keys[child + 1])) {
+                    child++;
+                }
+                if (!better(keys[index], keys[child])) {
+                    break;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Object item = items[i];
+            items[i] = items[j];
+            items[j] = item;
+            double key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+        }
+    }
+}